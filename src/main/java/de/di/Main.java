@@ -4,8 +4,12 @@ import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.ParameterException;
 import com.beust.jcommander.Parameters;
+import de.di.data_profiling.BinderINDProfiler;
+import de.di.data_profiling.FDProfiler;
 import de.di.data_profiling.INDProfiler;
+import de.di.data_profiling.SpiderINDProfiler;
 import de.di.data_profiling.UCCProfiler;
+import de.di.data_profiling.structures.FD;
 import de.di.data_profiling.structures.IND;
 import de.di.data_profiling.structures.UCC;
 import de.di.duplicate_detection.RecordComparator;
@@ -13,11 +17,15 @@ import de.di.duplicate_detection.SortedNeighborhood;
 import de.di.duplicate_detection.TransitiveClosure;
 import de.di.duplicate_detection.structures.Duplicate;
 import de.di.schema_matching.FirstLineSchemaMatcher;
+import de.di.schema_matching.ScenarioRunner;
 import de.di.schema_matching.SecondLineSchemaMatcher;
+import de.di.schema_matching.SketchSchemaMatcher;
 import de.di.schema_matching.helper.AUCPR;
 import de.di.schema_matching.helper.AUROC;
 import de.di.schema_matching.structures.CorrespondenceMatrix;
+import de.di.schema_matching.structures.ScenarioResult;
 import de.di.schema_matching.structures.SimilarityMatrix;
+import de.di.schema_matching.structures.SparseSimilarityMatrix;
 import de.di.similarity_measures.Jaccard;
 import de.di.similarity_measures.Levenshtein;
 import de.di.similarity_measures.LocalitySensitiveHashing;
@@ -25,15 +33,10 @@ import de.di.similarity_measures.SimilarityMeasure;
 import de.di.similarity_measures.helper.Tokenizer;
 
 import java.io.File;
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 public class Main {
 
@@ -43,8 +46,12 @@ public class Main {
         CommandLocalitySensitiveHashing commandLocalitySensitiveHashing = new CommandLocalitySensitiveHashing();
         CommandUCCProfiler commandUCCProfiler = new CommandUCCProfiler();
         CommandINDProfiler commandINDProfiler = new CommandINDProfiler();
+        CommandFDProfiler commandFDProfiler = new CommandFDProfiler();
         CommandFirstLineSchemaMatcher commandFirstLineSchemaMatcher = new CommandFirstLineSchemaMatcher();
         CommandSecondLineSchemaMatcher commandSecondLineSchemaMatcher = new CommandSecondLineSchemaMatcher();
+        CommandSchemaMatchingScenarios commandSchemaMatchingScenarios = new CommandSchemaMatchingScenarios();
+        CommandSecondLineBenchmark commandSecondLineBenchmark = new CommandSecondLineBenchmark();
+        CommandAssignmentBenchmark commandAssignmentBenchmark = new CommandAssignmentBenchmark();
         CommandDuplicateDetection commandDuplicateDetection = new CommandDuplicateDetection();
 
         JCommander jCommander = JCommander.newBuilder()
@@ -53,8 +60,12 @@ public class Main {
                 .addCommand(CommandLocalitySensitiveHashing.COMMAND, commandLocalitySensitiveHashing)
                 .addCommand(CommandUCCProfiler.COMMAND, commandUCCProfiler)
                 .addCommand(CommandINDProfiler.COMMAND, commandINDProfiler)
+                .addCommand(CommandFDProfiler.COMMAND, commandFDProfiler)
                 .addCommand(CommandFirstLineSchemaMatcher.COMMAND, commandFirstLineSchemaMatcher)
                 .addCommand(CommandSecondLineSchemaMatcher.COMMAND, commandSecondLineSchemaMatcher)
+                .addCommand(CommandSchemaMatchingScenarios.COMMAND, commandSchemaMatchingScenarios)
+                .addCommand(CommandSecondLineBenchmark.COMMAND, commandSecondLineBenchmark)
+                .addCommand(CommandAssignmentBenchmark.COMMAND, commandAssignmentBenchmark)
                 .addCommand(CommandDuplicateDetection.COMMAND, commandDuplicateDetection)
                 .build();
 
@@ -89,16 +100,47 @@ public class Main {
                     uccResult.forEach(System.out::println);
                     break;
                 case CommandINDProfiler.COMMAND:
-                    INDProfiler indProfiler = new INDProfiler();
+                    if (commandINDProfiler.memoryBudget > 0 && commandINDProfiler.spider)
+                        throw new ParameterException("--memoryBudget and --spider select different unary IND algorithms and cannot be combined.");
+                    if ((commandINDProfiler.memoryBudget > 0 || commandINDProfiler.spider) && commandINDProfiler.discoverNary)
+                        throw new ParameterException("--memoryBudget and --spider discover unary INDs only and cannot be combined with --discoverNary.");
                     List<Relation> relations = Relation.readAllRelationsIn(commandINDProfiler.inputPath, commandINDProfiler.hasHeader, commandINDProfiler.separator.charAt(0), StandardCharsets.UTF_8);
-                    List<IND> indResult = indProfiler.profile(relations, commandINDProfiler.discoverNary);
+                    List<IND> indResult;
+                    if (commandINDProfiler.memoryBudget > 0)
+                        indResult = new BinderINDProfiler(commandINDProfiler.memoryBudget).profile(relations);
+                    else if (commandINDProfiler.spider)
+                        indResult = new SpiderINDProfiler().profile(relations);
+                    else
+                        indResult = new INDProfiler(Runtime.getRuntime().availableProcessors(), commandINDProfiler.maxArity).profile(relations, commandINDProfiler.discoverNary);
                     indResult.forEach(System.out::println);
                     break;
+                case CommandFDProfiler.COMMAND:
+                    FDProfiler fdProfiler = new FDProfiler();
+                    List<FD> fdResult = new ArrayList<>();
+                    for (Relation relation : Relation.readAllRelationsIn(commandFDProfiler.inputPath, commandFDProfiler.hasHeader, commandFDProfiler.separator.charAt(0), StandardCharsets.UTF_8))
+                        fdResult.addAll(fdProfiler.profile(relation));
+                    fdResult.forEach(System.out::println);
+                    break;
                 case CommandFirstLineSchemaMatcher.COMMAND:
-                    runMatchingFor(commandFirstLineSchemaMatcher.scenarioPath, false);
+                    if (commandFirstLineSchemaMatcher.reportSketchError && commandFirstLineSchemaMatcher.numHashFunctions <= 0)
+                        throw new ParameterException("--reportSketchError requires a positive --numHashFunctions.");
+                    runMatchingFor(commandFirstLineSchemaMatcher.scenarioPath, false, commandFirstLineSchemaMatcher.numHashFunctions, commandFirstLineSchemaMatcher.reportSketchError);
                     break;
                 case CommandSecondLineSchemaMatcher.COMMAND:
-                    runMatchingFor(commandSecondLineSchemaMatcher.scenarioPath, true);
+                    runMatchingFor(commandSecondLineSchemaMatcher.scenarioPath, true, 0, false);
+                    break;
+                case CommandSchemaMatchingScenarios.COMMAND:
+                    SecondLineSchemaMatcher.Strategy strategy = (commandSchemaMatchingScenarios.firstLineOnly) ? null : commandSchemaMatchingScenarios.strategy;
+                    for (ScenarioResult scenarioResult : new ScenarioRunner(strategy).runAll(Path.of(commandSchemaMatchingScenarios.scenariosPath))) {
+                        scenarioResult.getMatchingResults().forEach(System.out::println);
+                        System.out.println(scenarioResult);
+                    }
+                    break;
+                case CommandSecondLineBenchmark.COMMAND:
+                    runSecondLineBenchmark(commandSecondLineBenchmark.scenarioPath, commandSecondLineBenchmark.threshold);
+                    break;
+                case CommandAssignmentBenchmark.COMMAND:
+                    runAssignmentBenchmark(commandAssignmentBenchmark.maxSize, commandAssignmentBenchmark.maxHungarianSize, commandAssignmentBenchmark.topK, commandAssignmentBenchmark.epsilon);
                     break;
                 case CommandDuplicateDetection.COMMAND:
                     Relation relation = new Relation(commandDuplicateDetection.scenarioPath, commandDuplicateDetection.hasHeader, commandDuplicateDetection.separator.charAt(0), StandardCharsets.ISO_8859_1);
@@ -212,8 +254,32 @@ public class Main {
         @Parameter(names = {"--separator"}, description = "File separator character", required = false, arity = 1)
         String separator = ";";
 
-        @Parameter(names = {"--discoverNary"}, description = "Flag to indicate whether n-ary INDs should be discovered as well", required = false, arity = 1)
+        @Parameter(names = {"--discoverNary"}, description = "Flag to indicate whether n-ary INDs should be discovered as well; cannot be combined with --memoryBudget or --spider", required = false, arity = 1)
         boolean discoverNary = false;
+
+        @Parameter(names = {"--maxArity"}, description = "Maximum arity of the discovered n-ary INDs", required = false, arity = 1)
+        int maxArity = Integer.MAX_VALUE;
+
+        @Parameter(names = {"--memoryBudget"}, description = "Memory budget in bytes for the bucketed, out-of-core discovery of unary INDs; 0 disables it. The budget must be at least the size of all distinct values divided by " + BinderINDProfiler.MAX_NUM_BUCKETS + ", the maximum number of buckets; cannot be combined with --spider or --discoverNary", required = false, arity = 1)
+        long memoryBudget = 0;
+
+        @Parameter(names = {"--spider"}, description = "Flag to indicate whether unary INDs should be discovered with the sort-merge SPIDER algorithm; cannot be combined with --memoryBudget or --discoverNary", required = false, arity = 1)
+        boolean spider = false;
+    }
+
+    @Parameters(commandDescription = "Execute the FDProfiler data profiling algorithm.")
+    private static class CommandFDProfiler {
+
+        public static final String COMMAND = "FDProfiler";
+
+        @Parameter(names = {"--input"}, description = "Path of the input folder; the profiling will consider all files in that folder", required = false, arity = 1)
+        String inputPath = "data" + File.separator + "data_profiling";
+
+        @Parameter(names = {"--hasHeader"}, description = "File has header flag", required = false, arity = 1)
+        boolean hasHeader = true;
+
+        @Parameter(names = {"--separator"}, description = "File separator character", required = false, arity = 1)
+        String separator = ";";
     }
 
     @Parameters(commandDescription = "Execute the FirstLineSchemaMatcher algorithm.")
@@ -223,6 +289,12 @@ public class Main {
 
         @Parameter(names = {"--scenarioPath"}, description = "Path of the matching scenario", required = true, arity = 1)
         String scenarioPath;
+
+        @Parameter(names = {"--numHashFunctions"}, description = "Number of MinHash functions for the sketch-based matching, which replaces the exact matching; 0 disables it", required = false, arity = 1)
+        int numHashFunctions = 0;
+
+        @Parameter(names = {"--reportSketchError"}, description = "Additionally calculate the exact matching and report the error of the sketch-based matching against it", required = false, arity = 0)
+        boolean reportSketchError = false;
     }
 
     @Parameters(commandDescription = "Execute the SecondLineSchemaMatcher algorithm.")
@@ -234,6 +306,51 @@ public class Main {
         String scenarioPath;
     }
 
+    @Parameters(commandDescription = "Match and evaluate all schema matching scenarios of a folder concurrently.")
+    private static class CommandSchemaMatchingScenarios {
+
+        public static final String COMMAND = "SchemaMatchingScenarios";
+
+        @Parameter(names = {"--scenariosPath"}, description = "Path of the folder that contains the matching scenarios", required = false, arity = 1)
+        String scenariosPath = "data" + File.separator + "schema_matching";
+
+        @Parameter(names = {"--strategy"}, description = "Strategy of the second-line matching", required = false, arity = 1)
+        SecondLineSchemaMatcher.Strategy strategy = SecondLineSchemaMatcher.Strategy.HUNGARIAN;
+
+        @Parameter(names = {"--firstLineOnly"}, description = "Flag to evaluate the first-line similarities without second-line matching", required = false, arity = 1)
+        boolean firstLineOnly = false;
+    }
+
+    @Parameters(commandDescription = "Compare the runtime and AUC of the SecondLineSchemaMatcher strategies on a matching scenario.")
+    private static class CommandSecondLineBenchmark {
+
+        public static final String COMMAND = "SecondLineBenchmark";
+
+        @Parameter(names = {"--scenarioPath"}, description = "Path of the matching scenario", required = true, arity = 1)
+        String scenarioPath;
+
+        @Parameter(names = {"--threshold"}, description = "Minimum similarity of the pairs that the threshold strategy selects", required = false, arity = 1)
+        double threshold = SecondLineSchemaMatcher.DEFAULT_THRESHOLD;
+    }
+
+    @Parameters(commandDescription = "Compare the runtime and quality of the second-line assignment solvers on random sparse similarity matrices.")
+    private static class CommandAssignmentBenchmark {
+
+        public static final String COMMAND = "AssignmentBenchmark";
+
+        @Parameter(names = {"--maxSize"}, description = "Number of rows and columns of the largest matrix; the sizes grow by factors of ten from 10", required = false, arity = 1)
+        int maxSize = 10000;
+
+        @Parameter(names = {"--maxHungarianSize"}, description = "Largest matrix size that is also solved with the dense Hungarian algorithm", required = false, arity = 1)
+        int maxHungarianSize = 1000;
+
+        @Parameter(names = {"--topK"}, description = "Number of candidate columns per row", required = false, arity = 1)
+        int topK = 10;
+
+        @Parameter(names = {"--epsilon"}, description = "Optimality tolerance per row of the auction algorithm", required = false, arity = 1)
+        double epsilon = 0.0001;
+    }
+
     @Parameters(commandDescription = "Execute the entire duplicate detection pipeline.")
     private static class CommandDuplicateDetection {
 
@@ -255,67 +372,139 @@ public class Main {
         int windowSize = 5;
     }
 
-    private static void runMatchingFor(String scenarioPath, boolean withSecondLineMatcher) {
-        List<Path> sources = scanFiles(scenarioPath + File.separator + "source");
-        List<Path> targets = scanFiles(scenarioPath + File.separator + "target");
-
-        Collections.sort(sources);
-        Collections.sort(targets);
-
-        for (Path source : sources) {
-            for (Path target : targets) {
-                // Check if this relation pair is actually a pair that is supposed to match
-                Path groundTruth = Path.of(source.toString().replaceFirst("source", "ground_truth").replace(".csv", "___") + target.getFileName());
-                if (!groundTruth.toFile().exists())
-                    continue;
-
-                // Load the relations and ground truth data
-                Relation sourceRelation = new Relation(source.toString(), true, ',', StandardCharsets.UTF_8);
-                Relation targetRelation = new Relation(target.toString(), true, ',', StandardCharsets.UTF_8);
-                Relation groundRelation = new Relation(groundTruth.toString(), false, ',', StandardCharsets.UTF_8);
-
-                // Calculate first-line matching
-                FirstLineSchemaMatcher firstMatcher = new FirstLineSchemaMatcher();
-                SimilarityMatrix simMatrix = firstMatcher.match(sourceRelation, targetRelation);
-
-                // Calculate second-line matching
-                SecondLineSchemaMatcher secondMatcher = new SecondLineSchemaMatcher();
-                CorrespondenceMatrix corrMatrix = (withSecondLineMatcher) ? secondMatcher.match(simMatrix) : null;
-
-                // Translate ground truth data into a correlation matrix
-                CorrespondenceMatrix goldMatrix = new CorrespondenceMatrix(groundRelation, sourceRelation, targetRelation);
-
-                // Evaluate the matching
-                AUROC rocAlgorithm = new AUROC();
-                AUCPR prAlgorithm = new AUCPR();
-
-                double rocScore, prScore;
-                if (withSecondLineMatcher && corrMatrix != null && corrMatrix.getMatrix() != null) {
-                    rocScore = rocAlgorithm.run(goldMatrix.getMatrix(), corrMatrix.getMatrix());
-                    prScore = prAlgorithm.run(goldMatrix.getMatrix(), corrMatrix.getMatrix());
-                } else if (corrMatrix == null || corrMatrix.getMatrix() == null) {
-                    rocScore = -1;
-                    prScore = -1;
-                } else {
-                    rocScore = rocAlgorithm.run(goldMatrix.getMatrix(), simMatrix.getMatrix());
-                    prScore = prAlgorithm.run(goldMatrix.getMatrix(), simMatrix.getMatrix());
+    private static void runMatchingFor(String scenarioPath, boolean withSecondLineMatcher, int numHashFunctions, boolean reportSketchError) {
+        // Load the relations and ground truth data; every file is loaded only once, even if it occurs in several pairs
+        List<Path[]> pairs = ScenarioRunner.findPairs(Path.of(scenarioPath));
+        Map<Path, Relation> relations = ScenarioRunner.loadFiles(pairs);
+        for (Path[] pair : pairs) {
+            Relation sourceRelation = relations.get(pair[0]);
+            Relation targetRelation = relations.get(pair[1]);
+            Relation groundRelation = relations.get(pair[2]);
+
+            // Calculate first-line matching, either exactly or from sketches; the exact matrix of the sketch-based
+            // matching is calculated only if its error should be reported
+            SimilarityMatrix simMatrix;
+            if (numHashFunctions > 0) {
+                simMatrix = new SketchSchemaMatcher(numHashFunctions).match(sourceRelation, targetRelation);
+                if (reportSketchError) {
+                    SimilarityMatrix exactMatrix = new FirstLineSchemaMatcher().match(sourceRelation, targetRelation);
+                    System.out.println("Sketch error:\tmean " + SketchSchemaMatcher.meanAbsoluteError(exactMatrix, simMatrix) + ", max " + SketchSchemaMatcher.maxAbsoluteError(exactMatrix, simMatrix));
                 }
+            } else {
+                simMatrix = new FirstLineSchemaMatcher().match(sourceRelation, targetRelation);
+            }
 
-                // Print results
-                System.out.println("ROC-AUC:\t" + rocScore);
-                System.out.println("PR-AUC: \t" + prScore);
+            // Calculate second-line matching
+            SecondLineSchemaMatcher secondMatcher = new SecondLineSchemaMatcher();
+            CorrespondenceMatrix corrMatrix = (withSecondLineMatcher) ? secondMatcher.match(simMatrix) : null;
+
+            // Translate ground truth data into a correlation matrix
+            CorrespondenceMatrix goldMatrix = new CorrespondenceMatrix(groundRelation, sourceRelation, targetRelation);
+
+            // Evaluate the matching
+            AUROC rocAlgorithm = new AUROC();
+            AUCPR prAlgorithm = new AUCPR();
+
+            double rocScore, prScore;
+            if (withSecondLineMatcher && corrMatrix != null && corrMatrix.getMatrix() != null) {
+                rocScore = rocAlgorithm.run(goldMatrix.getMatrix(), corrMatrix.getMatrix());
+                prScore = prAlgorithm.run(goldMatrix.getMatrix(), corrMatrix.getMatrix());
+            } else if (corrMatrix == null || corrMatrix.getMatrix() == null) {
+                rocScore = -1;
+                prScore = -1;
+            } else {
+                rocScore = rocAlgorithm.run(goldMatrix.getMatrix(), simMatrix.getMatrix());
+                prScore = prAlgorithm.run(goldMatrix.getMatrix(), simMatrix.getMatrix());
+            }
 
-                System.out.println((withSecondLineMatcher) ? corrMatrix : simMatrix);
-                System.out.println(goldMatrix);
+            // Print results
+            System.out.println("ROC-AUC:\t" + rocScore);
+            System.out.println("PR-AUC: \t" + prScore);
+
+            System.out.println((withSecondLineMatcher) ? corrMatrix : simMatrix);
+            System.out.println(goldMatrix);
+        }
+    }
+
+    private static void runSecondLineBenchmark(String scenarioPath, double threshold) {
+        SecondLineSchemaMatcher.Strategy[] strategies = SecondLineSchemaMatcher.Strategy.values();
+        long[] times = new long[strategies.length];
+        double[] rocScores = new double[strategies.length];
+        double[] prScores = new double[strategies.length];
+
+        List<Path[]> pairs = ScenarioRunner.findPairs(Path.of(scenarioPath));
+        Map<Path, Relation> relations = ScenarioRunner.loadFiles(pairs);
+        for (Path[] pair : pairs) {
+            Relation sourceRelation = relations.get(pair[0]);
+            Relation targetRelation = relations.get(pair[1]);
+            Relation groundRelation = relations.get(pair[2]);
+
+            // All strategies select from the same first-line similarities
+            SimilarityMatrix simMatrix = new FirstLineSchemaMatcher().match(sourceRelation, targetRelation);
+            CorrespondenceMatrix goldMatrix = new CorrespondenceMatrix(groundRelation, sourceRelation, targetRelation);
+
+            for (int s = 0; s < strategies.length; s++) {
+                long time = System.nanoTime();
+                CorrespondenceMatrix corrMatrix = new SecondLineSchemaMatcher(strategies[s], threshold).match(simMatrix);
+                times[s] += System.nanoTime() - time;
+
+                rocScores[s] += new AUROC().run(goldMatrix.getMatrix(), corrMatrix.getMatrix());
+                prScores[s] += new AUCPR().run(goldMatrix.getMatrix(), corrMatrix.getMatrix());
             }
         }
+
+        for (int s = 0; s < strategies.length; s++)
+            System.out.printf("%s:\t%.3f ms, mean ROC-AUC %.4f, mean PR-AUC %.4f%n", strategies[s],
+                    times[s] / 1000000.0, rocScores[s] / pairs.size(), prScores[s] / pairs.size());
     }
 
-    private static List<Path> scanFiles(String folderPath) {
-        try (Stream<Path> paths = Files.walk(Paths.get(folderPath))) {
-            return paths.filter(Files::isRegularFile).collect(Collectors.toList());
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    private static void runAssignmentBenchmark(int maxSize, int maxHungarianSize, int topK, double epsilon) {
+        SecondLineSchemaMatcher matcher = new SecondLineSchemaMatcher();
+        Random random = new Random(42);
+        for (int size = 10; size <= maxSize; size *= 10) {
+            // Every row gets topK random candidate columns with random similarities
+            int[][] rowColumns = new int[size][];
+            float[][] rowValues = new float[size][];
+            for (int i = 0; i < size; i++) {
+                rowColumns[i] = random.ints(0, size).distinct().limit(Math.min(topK, size)).sorted().toArray();
+                rowValues[i] = new float[rowColumns[i].length];
+                for (int k = 0; k < rowValues[i].length; k++)
+                    rowValues[i][k] = random.nextFloat();
+            }
+            Relation relation = new Relation("R", new String[size], new String[0][]);
+            SparseSimilarityMatrix simMatrix = SparseSimilarityMatrix.fromRows(size, rowColumns, rowValues, relation, relation);
+
+            long time = System.nanoTime();
+            double exactTotal = totalSimilarity(simMatrix, matcher.match(simMatrix));
+            long exactTime = System.nanoTime() - time;
+
+            time = System.nanoTime();
+            double auctionTotal = totalSimilarity(simMatrix, matcher.match(simMatrix, epsilon));
+            long auctionTime = System.nanoTime() - time;
+
+            System.out.printf("Size %d:\tshortest paths %d ms (total %.4f), auction %d ms (total %.4f, bound %.4f)",
+                    size, exactTime / 1000000, exactTotal, auctionTime / 1000000, auctionTotal, exactTotal - size * epsilon);
+            if (size <= maxHungarianSize) {
+                SimilarityMatrix denseMatrix = simMatrix.toSimilarityMatrix();
+                time = System.nanoTime();
+                int[][] hungarianMatrix = matcher.match(denseMatrix).getMatrix();
+                long hungarianTime = System.nanoTime() - time;
+
+                double hungarianTotal = 0;
+                for (int i = 0; i < size; i++)
+                    for (int j = 0; j < size; j++)
+                        hungarianTotal += hungarianMatrix[i][j] * simMatrix.get(i, j);
+                System.out.printf(", hungarian %d ms (total %.4f)", hungarianTime / 1000000, hungarianTotal);
+            }
+            System.out.println();
         }
     }
+
+    private static double totalSimilarity(SparseSimilarityMatrix simMatrix, SparseSimilarityMatrix corrMatrix) {
+        double total = 0;
+        for (int i = 0; i < corrMatrix.getNumRows(); i++)
+            for (int k = corrMatrix.getRowOffsets()[i]; k < corrMatrix.getRowOffsets()[i + 1]; k++)
+                total += simMatrix.get(i, corrMatrix.getColumnIndices()[k]);
+        return total;
+    }
 }
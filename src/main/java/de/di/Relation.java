@@ -6,6 +6,8 @@ import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
 import com.opencsv.enums.CSVReaderNullFieldIndicator;
 import com.opencsv.exceptions.CsvValidationException;
+import de.di.data_profiling.structures.ColumnStatistics;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -19,6 +21,8 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -30,6 +34,10 @@ public class Relation {
     private String[] attributes;
     private String[][] records;
 
+    // The statistics of the columns, which are calculated on first request
+    @Getter(AccessLevel.NONE)
+    private final Map<Integer, ColumnStatistics> columnStatistics = new ConcurrentHashMap<>();
+
     public static List<Relation> readAllRelationsIn(String folderPath, boolean hasHeader, char separator, Charset charset) {
         try (Stream<Path> paths = Files.walk(Paths.get(folderPath))) {
             return paths.filter(Files::isRegularFile)
@@ -102,6 +110,20 @@ public class Relation {
         return columns;
     }
 
+    /**
+     * Returns the statistics of the provided attribute, calculating them in one pass over the column on first request.
+     * @param attribute The index of the attribute.
+     * @return The statistics of the attribute's values.
+     */
+    public ColumnStatistics getColumnStatistics(int attribute) {
+        return this.columnStatistics.computeIfAbsent(attribute, a -> {
+            String[] column = new String[this.records.length];
+            for (int j = 0; j < this.records.length; j++)
+                column[j] = this.records[j][a];
+            return ColumnStatistics.of(column);
+        });
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
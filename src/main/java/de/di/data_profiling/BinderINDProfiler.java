@@ -0,0 +1,339 @@
+package de.di.data_profiling;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.AttributeBitSet;
+import de.di.data_profiling.structures.FingerprintSet;
+import de.di.data_profiling.structures.IND;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * The BinderINDProfiler discovers the same non-trivial unary inclusion dependencies as the INDProfiler, but keeps only
+ * a bounded part of the column values in memory, like the BINDER algorithm. It first hash-partitions the distinct
+ * values of every column into on-disk buckets, choosing the number of buckets such that one bucket of all columns fits
+ * into the memory budget. It then validates the candidates bucket by bucket: because equal values always land in the
+ * same bucket, a candidate is refuted as soon as one bucket of its dependent column is not contained in the same
+ * bucket of its referenced column. Bucket contents are loaded lazily, only for columns that still take part in a
+ * candidate, and are evicted in least-recently-used order when the budget is exhausted.
+ */
+public class BinderINDProfiler {
+
+    // The maximum number of buckets, which bounds the number of simultaneously open bucket files; a memory budget that
+    // would need more buckets than this is rejected, because one bucket would then not fit into the budget
+    public static final int MAX_NUM_BUCKETS = 1024;
+
+    // The maximum number of bytes that the loaded bucket contents may occupy
+    @Getter
+    private final long memoryBudget;
+
+    @Getter
+    private int numBuckets;
+
+    @Getter
+    private int numBucketLoads;
+
+    @Getter
+    private long peakResidentSize;
+
+    public BinderINDProfiler(final long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Discovers all non-trivial unary inclusion dependencies in the provided relations.
+     * @param relations The list of relations to be profiled for inclusion dependencies.
+     * @return A list of all discovered non-trivial unary inclusion dependencies.
+     */
+    public List<IND> profile(List<Relation> relations) {
+        List<Relation> columnRelations = new ArrayList<>();
+        IntArrayList columnAttributes = new IntArrayList();
+        for (Relation relation : relations) {
+            for (int attribute = 0; attribute < relation.getAttributes().length; attribute++) {
+                columnRelations.add(relation);
+                columnAttributes.add(attribute);
+            }
+        }
+        int numColumns = columnRelations.size();
+
+        this.numBucketLoads = 0;
+        this.peakResidentSize = 0;
+
+        AttributeBitSet[] referencedCandidates;
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("binder");
+            try (Buckets buckets = this.partition(relations, numColumns, directory)) {
+                referencedCandidates = this.validate(buckets, columnRelations, columnAttributes);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            deleteDirectory(directory);
+        }
+
+        List<IND> inclusionDependencies = new ArrayList<>();
+        for (int dependent = 0; dependent < numColumns; dependent++) {
+            AttributeBitSet referenced = referencedCandidates[dependent];
+            for (int reference = referenced.nextAttribute(0); reference >= 0; reference = referenced.nextAttribute(reference + 1))
+                inclusionDependencies.add(new IND(columnRelations.get(dependent), columnAttributes.getInt(dependent), columnRelations.get(reference), columnAttributes.getInt(reference)));
+        }
+        return inclusionDependencies;
+    }
+
+    /**
+     * Writes the distinct, normalized values of all columns into bucket files, one file per bucket. The values of one
+     * column are collected directly from the records and partitioned in memory, and then appended to the bucket files,
+     * so only the distinct values of one column are held at a time.
+     */
+    private Buckets partition(List<Relation> relations, int numColumns, Path directory) throws IOException {
+        // The sizes of all distinct values determine how many buckets are needed to fit one bucket of all columns; the
+        // distinct values are computed twice so that only one column is held at any time
+        long totalSize = 0;
+        for (Relation relation : relations)
+            for (int attribute = 0; attribute < relation.getAttributes().length; attribute++)
+                for (String value : distinctValues(relation, attribute))
+                    totalSize += estimatedSize(value.getBytes(StandardCharsets.UTF_8));
+        long budget = Math.max(1, this.memoryBudget);
+        long requiredBuckets = Math.max(1, totalSize / budget + (totalSize % budget == 0 ? 0 : 1));
+        if (requiredBuckets > MAX_NUM_BUCKETS)
+            throw new IllegalArgumentException("A memory budget of " + this.memoryBudget + " bytes needs " + requiredBuckets +
+                    " buckets, but at most " + MAX_NUM_BUCKETS + " are supported; the budget must be at least " +
+                    ((totalSize + MAX_NUM_BUCKETS - 1) / MAX_NUM_BUCKETS) + " bytes");
+        this.numBuckets = (int) requiredBuckets;
+
+        Buckets buckets = new Buckets(directory, numColumns, this.numBuckets);
+        int column = 0;
+        for (Relation relation : relations) {
+            for (int attribute = 0; attribute < relation.getAttributes().length; attribute++) {
+                List<List<byte[]>> partitions = new ArrayList<>(this.numBuckets);
+                for (int bucket = 0; bucket < this.numBuckets; bucket++)
+                    partitions.add(new ArrayList<>());
+                for (String value : distinctValues(relation, attribute))
+                    partitions.get(Math.floorMod(FingerprintSet.fingerprint(value), this.numBuckets)).add(value.getBytes(StandardCharsets.UTF_8));
+
+                for (int bucket = 0; bucket < this.numBuckets; bucket++)
+                    buckets.append(column, bucket, partitions.get(bucket));
+                column++;
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Refutes the candidates bucket by bucket and returns the surviving ones.
+     * @return For every column, the set of columns that include it.
+     */
+    private AttributeBitSet[] validate(Buckets buckets, List<Relation> columnRelations, IntArrayList columnAttributes) throws IOException {
+        int numColumns = columnRelations.size();
+        AttributeBitSet[] referencedCandidates = new AttributeBitSet[numColumns];
+        for (int dependent = 0; dependent < numColumns; dependent++) {
+            AttributeBitSet candidates = AttributeBitSet.empty(numColumns);
+            for (int referenced = 0; referenced < numColumns; referenced++) {
+                boolean trivial = columnRelations.get(dependent) == columnRelations.get(referenced) && columnAttributes.getInt(dependent) == columnAttributes.getInt(referenced);
+                if (!trivial && buckets.numDistinctValues(dependent) <= buckets.numDistinctValues(referenced))
+                    candidates = candidates.with(referenced);
+            }
+            referencedCandidates[dependent] = candidates;
+        }
+
+        for (int bucket = 0; bucket < this.numBuckets; bucket++) {
+            LinkedHashMap<Integer, Set<String>> loaded = new LinkedHashMap<>(16, 0.75f, true);
+            long[] residentSize = {0};
+
+            for (int dependent = 0; dependent < numColumns; dependent++) {
+                AttributeBitSet candidates = referencedCandidates[dependent];
+                if (candidates.isEmpty() || buckets.numValues(dependent, bucket) == 0)
+                    continue;
+
+                // The dependent's values stay pinned in the loaded contents while its candidates are checked, so that they
+                // are never evicted and thereby dropped from the resident size while this method still references them
+                Set<String> dependentValues = this.load(buckets, dependent, bucket, -1, loaded, residentSize);
+                if (dependentValues == null)
+                    throw new IllegalStateException("Bucket " + bucket + " of column " + dependent + " alone exceeds the memory budget of " +
+                            this.memoryBudget + " bytes; choose a larger budget");
+                for (int referenced = candidates.nextAttribute(0); referenced >= 0; referenced = candidates.nextAttribute(referenced + 1)) {
+                    boolean included = false;
+                    if (buckets.numValues(referenced, bucket) >= dependentValues.size()) {
+                        Set<String> referencedValues = this.load(buckets, referenced, bucket, dependent, loaded, residentSize);
+                        included = (referencedValues != null) ? referencedValues.containsAll(dependentValues) : buckets.contains(referenced, bucket, dependentValues);
+                    }
+                    if (!included)
+                        referencedCandidates[dependent] = referencedCandidates[dependent].without(referenced);
+                }
+            }
+        }
+        return referencedCandidates;
+    }
+
+    /**
+     * Loads the values of a column's bucket, evicting least recently used contents other than the pinned column before
+     * the values are read, so that the resident size never exceeds the memory budget.
+     * @return The values of the bucket or null if they do not fit into the budget next to the pinned column.
+     */
+    private Set<String> load(Buckets buckets, int column, int bucket, int pinnedColumn, LinkedHashMap<Integer, Set<String>> loaded, long[] residentSize) throws IOException {
+        Set<String> values = loaded.get(column);
+        if (values != null)
+            return values;
+
+        long size = buckets.estimatedSize(column, bucket);
+        Iterator<Integer> iterator = loaded.keySet().iterator();
+        while (residentSize[0] + size > this.memoryBudget && iterator.hasNext()) {
+            int loadedColumn = iterator.next();
+            if (loadedColumn == pinnedColumn)
+                continue;
+            residentSize[0] -= buckets.estimatedSize(loadedColumn, bucket);
+            iterator.remove();
+        }
+        if (residentSize[0] + size > this.memoryBudget)
+            return null;
+
+        values = buckets.read(column, bucket);
+        loaded.put(column, values);
+        residentSize[0] += size;
+        this.peakResidentSize = Math.max(this.peakResidentSize, residentSize[0]);
+        this.numBucketLoads++;
+        return values;
+    }
+
+    private static Set<String> distinctValues(Relation relation, int attribute) {
+        Set<String> values = new HashSet<>();
+        for (String[] record : relation.getRecords())
+            values.add(INDProfiler.normalizeValue(record[attribute]));
+        return values;
+    }
+
+    // A rough upper bound of the heap size of a String in a HashSet: object headers, the hash table entry, and two bytes
+    // per character, of which a string has at most as many as bytes in UTF-8
+    private static long estimatedSize(byte[] value) {
+        return 64L + 2L * value.length;
+    }
+
+    private static void deleteDirectory(Path directory) {
+        if (directory == null)
+            return;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator)
+                Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * The Buckets are the bucket files of all columns, together with the position, length, and number of values of
+     * every column segment in every bucket file.
+     */
+    private static class Buckets implements AutoCloseable {
+
+        private static final int STREAM_BUFFER_SIZE = 8192;
+
+        private final FileChannel[] channels;
+        private final long[][] offsets;
+        private final int[][] lengths;
+        private final int[][] numValues;
+
+        private Buckets(Path directory, int numColumns, int numBuckets) throws IOException {
+            this.channels = new FileChannel[numBuckets];
+            for (int bucket = 0; bucket < numBuckets; bucket++)
+                this.channels[bucket] = FileChannel.open(directory.resolve("bucket" + bucket + ".bin"),
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.offsets = new long[numColumns][numBuckets];
+            this.lengths = new int[numColumns][numBuckets];
+            this.numValues = new int[numColumns][numBuckets];
+        }
+
+        private void append(int column, int bucket, List<byte[]> values) throws IOException {
+            int length = 0;
+            for (byte[] value : values)
+                length += 4 + value.length;
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            for (byte[] value : values)
+                buffer.putInt(value.length).put(value);
+            buffer.flip();
+
+            FileChannel channel = this.channels[bucket];
+            this.offsets[column][bucket] = channel.size();
+            this.lengths[column][bucket] = length;
+            this.numValues[column][bucket] = values.size();
+            long position = channel.size();
+            while (buffer.hasRemaining())
+                position += channel.write(buffer, position);
+        }
+
+        private Set<String> read(int column, int bucket) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(this.lengths[column][bucket]);
+            long position = this.offsets[column][bucket];
+            while (buffer.hasRemaining()) {
+                int read = this.channels[bucket].read(buffer, position);
+                if (read < 0)
+                    throw new IOException("Unexpected end of bucket file " + bucket);
+                position += read;
+            }
+            buffer.flip();
+
+            Set<String> values = new HashSet<>(this.numValues[column][bucket] * 2);
+            while (buffer.hasRemaining()) {
+                byte[] value = new byte[buffer.getInt()];
+                buffer.get(value);
+                values.add(new String(value, StandardCharsets.UTF_8));
+            }
+            return values;
+        }
+
+        private int numValues(int column, int bucket) {
+            return this.numValues[column][bucket];
+        }
+
+        private long estimatedSize(int column, int bucket) {
+            // Every value is stored as its length and its UTF-8 bytes
+            return 64L * this.numValues[column][bucket] + 2L * (this.lengths[column][bucket] - 4L * this.numValues[column][bucket]);
+        }
+
+        /**
+         * Checks whether a column's bucket contains all provided values by streaming through the bucket file in small
+         * chunks, i.e., without loading the bucket. The values of a bucket are distinct, so it contains all values iff
+         * the number of hits equals their number.
+         */
+        private boolean contains(int column, int bucket, Set<String> values) throws IOException {
+            // The stream is deliberately not closed, because closing it would close the shared bucket channel
+            long position = this.offsets[column][bucket];
+            DataInputStream input = new DataInputStream(new BufferedInputStream(
+                    Channels.newInputStream(this.channels[bucket].position(position)), STREAM_BUFFER_SIZE));
+            int numHits = 0;
+            for (int i = 0; i < this.numValues[column][bucket] && numHits < values.size(); i++) {
+                byte[] value = new byte[input.readInt()];
+                input.readFully(value);
+                if (values.contains(new String(value, StandardCharsets.UTF_8)))
+                    numHits++;
+            }
+            return numHits == values.size();
+        }
+
+        private int numDistinctValues(int column) {
+            int numDistinctValues = 0;
+            for (int count : this.numValues[column])
+                numDistinctValues += count;
+            return numDistinctValues;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (FileChannel channel : this.channels)
+                channel.close();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package de.di.data_profiling;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.AttributeBitSet;
+import de.di.data_profiling.structures.AttributeList;
+import de.di.data_profiling.structures.FD;
+import de.di.data_profiling.structures.PositionListIndex;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * The FDProfiler discovers all minimal, non-trivial functional dependencies of a relation with the TANE algorithm.
+ * It traverses the attribute lattice level-wise on the same PositionListIndex structures as the UCCProfiler: the PLI of
+ * an attribute set is the intersection of the PLIs of two of its subsets, and X -> A is valid iff X and XA have the same
+ * partition error. The rhs candidate sets C+(X) prune the lattice such that only minimal FDs are tested, and attribute
+ * sets that are keys are not extended any further.
+ */
+public class FDProfiler {
+
+    /**
+     * Discovers all minimal, non-trivial functional dependencies in the provided relation.
+     *
+     * @param relation The relation that should be profiled for functional dependencies.
+     * @return The list of all minimal, non-trivial functional dependencies in the provided relation.
+     */
+    public List<FD> profile(Relation relation) {
+        int numAttributes = relation.getAttributes().length;
+        int numRecords = relation.getRecords().length;
+        List<FD> fds = new ArrayList<>();
+
+        // Level 0: the empty set forms a single cluster with all records and may determine every attribute
+        LevelElement emptySet = new LevelElement(AttributeBitSet.empty(numAttributes), null, Math.max(0, numRecords - 1));
+        emptySet.rhsCandidates = AttributeBitSet.full(numAttributes);
+        Map<AttributeBitSet, LevelElement> previousLevel = new HashMap<>();
+        previousLevel.put(emptySet.attributes, emptySet);
+
+        // Level 1: all single attributes
+        String[][] columns = relation.getColumns();
+        PositionListIndex[] unaryPlis = PositionListIndex.buildAll(columns);
+        Map<AttributeBitSet, LevelElement> currentLevel = new LinkedHashMap<>();
+        for (int attribute = 0; attribute < numAttributes; attribute++) {
+            PositionListIndex pli = unaryPlis[attribute];
+            LevelElement element = new LevelElement(AttributeBitSet.of(numAttributes, attribute), pli, pli.partitionError());
+            currentLevel.put(element.attributes, element);
+        }
+
+        while (!currentLevel.isEmpty()) {
+            this.computeDependencies(relation, currentLevel, previousLevel, fds);
+            this.prune(relation, currentLevel, previousLevel, unaryPlis, fds);
+            Map<AttributeBitSet, LevelElement> nextLevel = this.generateNextLevel(currentLevel);
+            previousLevel = currentLevel;
+            currentLevel = nextLevel;
+        }
+
+        return sortFDs(fds);
+    }
+
+    /**
+     * Computes the rhs candidates C+(X) of all attribute sets X of the current level and adds all valid, minimal FDs
+     * X \ {A} -> A with A in X and C+(X).
+     * @param relation The profiled relation.
+     * @param currentLevel The attribute sets of the current level.
+     * @param previousLevel The attribute sets of the previous level, which hold the subsets X \ {A}.
+     * @param fds The list that collects the discovered FDs.
+     */
+    private void computeDependencies(Relation relation, Map<AttributeBitSet, LevelElement> currentLevel, Map<AttributeBitSet, LevelElement> previousLevel, List<FD> fds) {
+        for (LevelElement element : currentLevel.values()) {
+            // C+(X) is the intersection of C+(X \ {A}) for all A in X
+            AttributeBitSet rhsCandidates = AttributeBitSet.full(element.attributes.getNumAttributes());
+            for (int attribute = element.attributes.nextAttribute(0); attribute >= 0; attribute = element.attributes.nextAttribute(attribute + 1)) {
+                LevelElement subset = previousLevel.get(element.attributes.without(attribute));
+                rhsCandidates = (subset == null) ? AttributeBitSet.empty(rhsCandidates.getNumAttributes()) : rhsCandidates.intersect(subset.rhsCandidates);
+            }
+            element.rhsCandidates = rhsCandidates;
+        }
+
+        for (LevelElement element : currentLevel.values()) {
+            AttributeBitSet testable = element.attributes.intersect(element.rhsCandidates);
+            for (int rhs = testable.nextAttribute(0); rhs >= 0; rhs = testable.nextAttribute(rhs + 1)) {
+                AttributeBitSet lhs = element.attributes.without(rhs);
+                if (previousLevel.get(lhs).error == element.error) {
+                    fds.add(new FD(relation, lhs.toAttributeList(), rhs));
+                    element.rhsCandidates = element.rhsCandidates.without(rhs).intersect(element.attributes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all attribute sets from the current level that cannot yield further minimal FDs, i.e., sets with an
+     * empty C+ and keys. For keys, the FDs that their supersets would have yielded are added before the removal.
+     * @param relation The profiled relation.
+     * @param currentLevel The attribute sets of the current level.
+     * @param previousLevel The attribute sets of the previous level.
+     * @param unaryPlis The PLIs of all single attributes.
+     * @param fds The list that collects the discovered FDs.
+     */
+    private void prune(Relation relation, Map<AttributeBitSet, LevelElement> currentLevel, Map<AttributeBitSet, LevelElement> previousLevel, PositionListIndex[] unaryPlis, List<FD> fds) {
+        List<AttributeBitSet> toRemove = new ArrayList<>();
+        for (LevelElement element : currentLevel.values()) {
+            if (element.rhsCandidates.isEmpty()) {
+                toRemove.add(element.attributes);
+                continue;
+            }
+            if (element.error == 0) {
+                AttributeBitSet rhsCandidates = element.rhsCandidates.minus(element.attributes);
+                for (int rhs = rhsCandidates.nextAttribute(0); rhs >= 0; rhs = rhsCandidates.nextAttribute(rhs + 1)) {
+                    // X -> A is minimal iff no X \ {B} -> A holds, which C+(X + A - B) tells if that set is still in the level
+                    boolean minimal = true;
+                    for (int attribute = element.attributes.nextAttribute(0); attribute >= 0 && minimal; attribute = element.attributes.nextAttribute(attribute + 1)) {
+                        LevelElement sibling = currentLevel.get(element.attributes.with(rhs).without(attribute));
+                        if (sibling != null) {
+                            minimal = sibling.rhsCandidates.contains(rhs);
+                        } else {
+                            LevelElement subset = previousLevel.get(element.attributes.without(attribute));
+                            PositionListIndex pli = (subset.pli == null) ? unaryPlis[rhs] : subset.pli.intersect(unaryPlis[rhs]);
+                            minimal = pli.partitionError() != subset.error;
+                        }
+                    }
+                    if (minimal)
+                        fds.add(new FD(relation, element.attributes.toAttributeList(), rhs));
+                }
+                toRemove.add(element.attributes);
+            }
+        }
+        toRemove.forEach(currentLevel::remove);
+    }
+
+    /**
+     * Generates the next level from pairs of attribute sets that share all but their last attribute, keeping only those
+     * sets whose direct subsets all survived in the current level.
+     * @param currentLevel The attribute sets of the current level.
+     * @return The attribute sets of the next level with their PLIs.
+     */
+    private Map<AttributeBitSet, LevelElement> generateNextLevel(Map<AttributeBitSet, LevelElement> currentLevel) {
+        Map<AttributeList, List<LevelElement>> prefixBlocks = new LinkedHashMap<>();
+        for (LevelElement element : currentLevel.values()) {
+            int[] attributes = element.attributes.toArray();
+            AttributeList prefix = new AttributeList(Arrays.copyOf(attributes, attributes.length - 1));
+            prefixBlocks.computeIfAbsent(prefix, k -> new ArrayList<>()).add(element);
+        }
+
+        Map<AttributeBitSet, LevelElement> nextLevel = new LinkedHashMap<>();
+        for (List<LevelElement> block : prefixBlocks.values()) {
+            for (int i = 0; i < block.size(); i++) {
+                for (int j = i + 1; j < block.size(); j++) {
+                    AttributeBitSet candidate = block.get(i).attributes.union(block.get(j).attributes);
+                    if (!allSubsetsIn(candidate, currentLevel))
+                        continue;
+                    PositionListIndex pli = block.get(i).pli.intersect(block.get(j).pli);
+                    nextLevel.put(candidate, new LevelElement(candidate, pli, pli.partitionError()));
+                }
+            }
+        }
+        return nextLevel;
+    }
+
+    private static boolean allSubsetsIn(AttributeBitSet candidate, Map<AttributeBitSet, LevelElement> level) {
+        for (int attribute = candidate.nextAttribute(0); attribute >= 0; attribute = candidate.nextAttribute(attribute + 1))
+            if (!level.containsKey(candidate.without(attribute)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Sorts functional dependencies by lhs size, then lexicographically by lhs attributes, and then by rhs attribute.
+     * @param fds The functional dependencies to sort.
+     * @return The sorted functional dependencies.
+     */
+    static List<FD> sortFDs(List<FD> fds) {
+        return fds.stream()
+                .sorted((fd1, fd2) -> {
+                    int sizeDiff = fd1.getLhsAttributes().size() - fd2.getLhsAttributes().size();
+                    if (sizeDiff != 0)
+                        return sizeDiff;
+                    for (int i = 0; i < fd1.getLhsAttributes().size(); i++) {
+                        int attrDiff = fd1.getLhsAttributes().getAttributes()[i] - fd2.getLhsAttributes().getAttributes()[i];
+                        if (attrDiff != 0)
+                            return attrDiff;
+                    }
+                    return fd1.getRhsAttribute() - fd2.getRhsAttribute();
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * A LevelElement is an attribute set of the current lattice level together with its PLI, its partition error, and
+     * its rhs candidates C+.
+     */
+    private static class LevelElement {
+
+        private final AttributeBitSet attributes;
+        private final PositionListIndex pli;
+        private final int error;
+        private AttributeBitSet rhsCandidates;
+
+        private LevelElement(AttributeBitSet attributes, PositionListIndex pli, int error) {
+            this.attributes = attributes;
+            this.pli = pli;
+            this.error = error;
+        }
+    }
+}
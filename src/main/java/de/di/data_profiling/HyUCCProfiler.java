@@ -0,0 +1,264 @@
+package de.di.data_profiling;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.AttributeBitSet;
+import de.di.data_profiling.structures.PositionListIndex;
+import de.di.data_profiling.structures.UCC;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import java.util.*;
+
+/**
+ * The HyUCCProfiler discovers the same minimal, non-trivial unique column combinations as the UCCProfiler, but uses a
+ * hybrid strategy that performs better on relations with many attributes and large minimal UCCs: a sampling phase
+ * compares record pairs from the PLI clusters and collects the attribute sets they agree on as non-UCCs, an induction
+ * phase specializes the current UCC candidates such that none of them is contained in a known non-UCC, and a
+ * validation phase checks the candidates level-wise with PositionListIndex intersections. The profiler switches back
+ * from validation to sampling whenever validation mostly refutes candidates, and stops sampling as soon as it no
+ * longer finds enough new non-UCCs per comparison.
+ */
+public class HyUCCProfiler {
+
+    // Sampling continues while at least this share of the record pair comparisons yields a new non-UCC
+    private final double samplingEfficiencyThreshold;
+
+    // Validation returns to sampling if more than this share of the validated candidates of one level is invalid
+    private final double validationEfficiencyThreshold;
+
+    public HyUCCProfiler() {
+        this(0.01, 0.01);
+    }
+
+    public HyUCCProfiler(final double samplingEfficiencyThreshold, final double validationEfficiencyThreshold) {
+        this.samplingEfficiencyThreshold = samplingEfficiencyThreshold;
+        this.validationEfficiencyThreshold = validationEfficiencyThreshold;
+    }
+
+    /**
+     * Discovers all minimal, non-trivial unique column combinations in the provided relation.
+     *
+     * @param relation The relation that should be profiled for unique column combinations.
+     * @return The list of all minimal, non-trivial unique column combinations in the provided relation.
+     */
+    public List<UCC> profile(Relation relation) {
+        int numAttributes = relation.getAttributes().length;
+        int numRecords = relation.getRecords().length;
+
+        // Build the unary PLIs and the compressed records, i.e., the cluster ids of every record in every attribute
+        String[][] columns = relation.getColumns();
+        PositionListIndex[] plis = PositionListIndex.buildAll(columns);
+        int[][] compressedRecords = new int[numRecords][numAttributes];
+        for (int attribute = 0; attribute < numAttributes; attribute++) {
+            int[] invertedClusters = plis[attribute].getInvertedClusters();
+            for (int record = 0; record < numRecords; record++)
+                compressedRecords[record][attribute] = invertedClusters[record];
+        }
+
+        Sampler sampler = new Sampler(plis, compressedRecords, numAttributes);
+
+        // Start with all unary candidates and refine them with the non-UCCs of the initial sampling phase
+        List<AttributeBitSet> candidates = new ArrayList<>();
+        for (int attribute = 0; attribute < numAttributes; attribute++)
+            candidates.add(AttributeBitSet.of(numAttributes, attribute));
+        this.induce(candidates, this.sample(sampler));
+
+        // Validate the candidates level-wise; each invalid candidate yields new non-UCCs that are induced right away
+        Set<AttributeBitSet> validated = new HashSet<>();
+        for (int level = 1; level <= numAttributes; level++) {
+            List<AttributeBitSet> levelCandidates = new ArrayList<>();
+            for (AttributeBitSet candidate : candidates)
+                if (candidate.size() == level && !validated.contains(candidate))
+                    levelCandidates.add(candidate);
+            if (levelCandidates.isEmpty())
+                continue;
+
+            List<AttributeBitSet> nonUniques = new ArrayList<>();
+            int numInvalid = 0;
+            for (AttributeBitSet candidate : levelCandidates) {
+                if (this.validate(candidate, plis, compressedRecords, sampler, nonUniques)) {
+                    validated.add(candidate);
+                } else {
+                    numInvalid++;
+                }
+            }
+            this.induce(candidates, nonUniques);
+
+            // Validation is inefficient if it mostly refutes candidates, so let the cheaper sampling refine them first
+            if (numInvalid > this.validationEfficiencyThreshold * levelCandidates.size())
+                this.induce(candidates, this.sample(sampler));
+        }
+
+        List<UCC> uniques = new ArrayList<>(candidates.size());
+        for (AttributeBitSet candidate : candidates)
+            uniques.add(new UCC(relation, candidate.toAttributeList()));
+        return UCCProfiler.sortUniques(uniques);
+    }
+
+    /**
+     * Runs sampling rounds with increasing window sizes until a round becomes inefficient or no more record pairs are left.
+     * @param sampler The sampler that holds the sampling state of the current relation.
+     * @return The newly discovered non-UCCs.
+     */
+    private List<AttributeBitSet> sample(Sampler sampler) {
+        List<AttributeBitSet> nonUniques = new ArrayList<>();
+        while (!sampler.isExhausted()) {
+            int numKnownNonUniques = nonUniques.size();
+            int numComparisons = sampler.runRound(nonUniques);
+            if (numComparisons == 0 || (double) (nonUniques.size() - numKnownNonUniques) / numComparisons < this.samplingEfficiencyThreshold)
+                break;
+        }
+        return nonUniques;
+    }
+
+    /**
+     * Validates the provided candidate by intersecting the PLIs of its attributes. If the candidate is not unique,
+     * the agree sets of one record pair per remaining cluster are added to the provided non-UCCs.
+     * @param candidate The candidate to validate.
+     * @param plis The unary PLIs of the relation.
+     * @param compressedRecords The compressed records of the relation.
+     * @param sampler The sampler that deduplicates the discovered non-UCCs.
+     * @param nonUniques The list that collects the non-UCCs that refute the candidate.
+     * @return true if the candidate is unique.
+     */
+    private boolean validate(AttributeBitSet candidate, PositionListIndex[] plis, int[][] compressedRecords, Sampler sampler, List<AttributeBitSet> nonUniques) {
+        // Start with the attribute that has the fewest non-unique records to keep the intermediate PLIs small
+        int[] attributes = candidate.toArray();
+        int pivot = attributes[0];
+        int pivotSize = numClusteredRecords(plis[pivot]);
+        for (int attribute : attributes) {
+            int size = numClusteredRecords(plis[attribute]);
+            if (size < pivotSize) {
+                pivot = attribute;
+                pivotSize = size;
+            }
+        }
+
+        PositionListIndex pli = plis[pivot];
+        for (int attribute : attributes) {
+            if (pli.isUnique())
+                return true;
+            if (attribute != pivot)
+                pli = pli.intersect(plis[attribute]);
+        }
+        if (pli.isUnique())
+            return true;
+
+        for (IntArrayList cluster : pli.getClusters()) {
+            AttributeBitSet agreeSet = sampler.agreeSet(compressedRecords[cluster.getInt(0)], compressedRecords[cluster.getInt(1)]);
+            if (sampler.register(agreeSet))
+                nonUniques.add(agreeSet);
+        }
+        return false;
+    }
+
+    private static int numClusteredRecords(PositionListIndex pli) {
+        int numRecords = 0;
+        for (IntArrayList cluster : pli.getClusters())
+            numRecords += cluster.size();
+        return numRecords;
+    }
+
+    /**
+     * Specializes the candidates such that none of them is contained in any of the provided non-UCCs. Every candidate
+     * that is a subset of a non-UCC is replaced by its minimal extensions with attributes outside that non-UCC.
+     * @param candidates The current minimal UCC candidates, which are updated in place.
+     * @param nonUniques The non-UCCs that should be induced into the candidates.
+     */
+    private void induce(List<AttributeBitSet> candidates, List<AttributeBitSet> nonUniques) {
+        // Larger non-UCCs invalidate more candidates at once, so handle them first
+        nonUniques.sort((nonUnique1, nonUnique2) -> nonUnique2.size() - nonUnique1.size());
+
+        for (AttributeBitSet nonUnique : nonUniques) {
+            List<AttributeBitSet> invalidCandidates = new ArrayList<>();
+            Iterator<AttributeBitSet> iterator = candidates.iterator();
+            while (iterator.hasNext()) {
+                AttributeBitSet candidate = iterator.next();
+                if (candidate.subsetOf(nonUnique)) {
+                    invalidCandidates.add(candidate);
+                    iterator.remove();
+                }
+            }
+            if (invalidCandidates.isEmpty())
+                continue;
+
+            AttributeBitSet extensions = nonUnique.complement();
+            for (AttributeBitSet invalidCandidate : invalidCandidates) {
+                for (int attribute = extensions.nextAttribute(0); attribute >= 0; attribute = extensions.nextAttribute(attribute + 1)) {
+                    AttributeBitSet specialization = invalidCandidate.with(attribute);
+                    if (isMinimal(specialization, candidates))
+                        candidates.add(specialization);
+                }
+            }
+        }
+    }
+
+    private static boolean isMinimal(AttributeBitSet candidate, List<AttributeBitSet> candidates) {
+        for (AttributeBitSet other : candidates)
+            if (other.subsetOf(candidate))
+                return false;
+        return true;
+    }
+
+    /**
+     * The Sampler compares record pairs within the clusters of the unary PLIs. In round w, every record of a cluster is
+     * compared to the record w positions after it, so that consecutive rounds explore increasingly distant pairs.
+     */
+    private static class Sampler {
+
+        private final PositionListIndex[] plis;
+        private final int[][] compressedRecords;
+        private final int numAttributes;
+
+        // All non-UCCs that have been discovered so far, either by sampling or during validation
+        private final Set<AttributeBitSet> nonUniques = new HashSet<>();
+
+        private int window = 0;
+        private boolean exhausted = false;
+
+        private Sampler(PositionListIndex[] plis, int[][] compressedRecords, int numAttributes) {
+            this.plis = plis;
+            this.compressedRecords = compressedRecords;
+            this.numAttributes = numAttributes;
+        }
+
+        private boolean isExhausted() {
+            return this.exhausted;
+        }
+
+        /**
+         * Compares all record pairs at the next window distance and adds their unseen agree sets to the provided list.
+         * @param newNonUniques The list that collects newly discovered non-UCCs.
+         * @return The number of record pair comparisons in this round.
+         */
+        private int runRound(List<AttributeBitSet> newNonUniques) {
+            this.window++;
+            int numComparisons = 0;
+            for (PositionListIndex pli : this.plis) {
+                for (IntArrayList cluster : pli.getClusters()) {
+                    for (int i = 0; i + this.window < cluster.size(); i++) {
+                        AttributeBitSet agreeSet = this.agreeSet(this.compressedRecords[cluster.getInt(i)], this.compressedRecords[cluster.getInt(i + this.window)]);
+                        if (this.register(agreeSet))
+                            newNonUniques.add(agreeSet);
+                        numComparisons++;
+                    }
+                }
+            }
+            if (numComparisons == 0)
+                this.exhausted = true;
+            return numComparisons;
+        }
+
+        private AttributeBitSet agreeSet(int[] record1, int[] record2) {
+            int[] agreeing = new int[this.numAttributes];
+            int size = 0;
+            for (int attribute = 0; attribute < this.numAttributes; attribute++)
+                if (record1[attribute] >= 0 && record1[attribute] == record2[attribute])
+                    agreeing[size++] = attribute;
+            return AttributeBitSet.of(this.numAttributes, Arrays.copyOf(agreeing, size));
+        }
+
+        private boolean register(AttributeBitSet nonUnique) {
+            return this.nonUniques.add(nonUnique);
+        }
+    }
+}
@@ -1,78 +1,315 @@
 package de.di.data_profiling;
 
 import de.di.Relation;
-import de.di.data_profiling.structures.IND;
 import de.di.data_profiling.structures.AttributeList;
+import de.di.data_profiling.structures.ColumnStatistics;
+import de.di.data_profiling.structures.FingerprintSet;
+import de.di.data_profiling.structures.IND;
+import de.di.data_profiling.structures.ValueCombination;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import lombok.Getter;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class INDProfiler {
 
     /**
-     * Discovers all non-trivial unary inclusion dependencies in the provided relations using a hash-based approach.
+     * The stages that an IND candidate passes before its exact validation, ordered from cheapest to most expensive.
+     */
+    public enum CandidateFilter {
+        DISTINCT_COUNT, TYPE, VALUE_RANGE, BLOOM_FILTER, FINGERPRINTS
+    }
+
+    // The number of candidates that each filter removed in the last run
+    @Getter
+    private final Map<CandidateFilter, Integer> numPrunedCandidates = new EnumMap<>(CandidateFilter.class);
+
+    // The number of worker threads that validate candidates in parallel
+    private final int parallelism;
+
+    // The maximum arity of the discovered n-ary INDs
+    private final int maxArity;
+
+    public INDProfiler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public INDProfiler(final int parallelism) {
+        this(parallelism, Integer.MAX_VALUE);
+    }
+
+    public INDProfiler(final int parallelism, final int maxArity) {
+        this.parallelism = parallelism;
+        this.maxArity = maxArity;
+    }
+
+    /**
+     * Discovers all non-trivial unary inclusion dependencies in the provided relations. Every candidate first passes
+     * the statistics filters of its two columns, then a comparison of their sorted 64-bit fingerprints; only candidates
+     * that survive all of these are verified on the exact values, so fingerprint collisions cannot produce false INDs.
+     * The candidates are validated in parallel, grouped by dependent column, and returned in the same order as a
+     * sequential run over all column pairs would return them. Only the fingerprints and statistics of the columns stay
+     * resident; the values of the two columns of a surviving candidate are re-read from their relations.
      * @param relations The list of relations to be profiled for inclusion dependencies.
-     * @param discoverNary Whether to discover n-ary INDs (currently not supported).
-     * @return A list of all discovered non-trivial unary inclusion dependencies.
+     * @param discoverNary Whether to discover n-ary INDs up to the maximum arity as well.
+     * @return A list of all discovered non-trivial inclusion dependencies, ordered by arity.
      */
     public List<IND> profile(List<Relation> relations, boolean discoverNary) {
+        // Number all columns of all relations consecutively in the order of the sequential nested loops
+        List<Relation> columnRelations = new ArrayList<>();
+        List<Integer> columnAttributes = new ArrayList<>();
+        for (Relation relation : relations) {
+            for (int colIndex = 0; colIndex < relation.getAttributes().length; colIndex++) {
+                columnRelations.add(relation);
+                columnAttributes.add(colIndex);
+            }
+        }
+        int numColumns = columnRelations.size();
+
+        FingerprintSet[] columnFingerprints = new FingerprintSet[numColumns];
+        ColumnStatistics[] columnStatistics = new ColumnStatistics[numColumns];
+
         List<IND> inclusionDependencies = new ArrayList<>();
+        List<List<IND>> indsByDependent;
+        int[][] prunedByDependent = new int[numColumns][CandidateFilter.values().length];
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, numColumns).parallel().forEach(column -> {
+                String[] values = normalizedColumn(columnRelations.get(column), columnAttributes.get(column));
+                columnFingerprints[column] = new FingerprintSet(values);
+                columnStatistics[column] = ColumnStatistics.of(values);
+            })).get();
 
-        Map<String, Map<String, Set<Integer>>> columnHashes = new HashMap<>();
-        for (Relation relation : relations) {
-            String relationName = relation.getName();
-            columnHashes.put(relationName, new HashMap<>());
-            String[][] columns = relation.getColumns();
+            // Each task validates all candidates of one dependent column, so that its value sets stay hot in the cache;
+            // the ordered collection restores the order of the sequential loops
+            indsByDependent = pool.submit(() -> IntStream.range(0, numColumns).parallel()
+                    .mapToObj(dependent -> {
+                        List<IND> inds = new ArrayList<>();
+                        // The exact values of the dependent are built on its first surviving candidate and dropped with
+                        // this task; the referenced columns are only re-read and scanned, so no other value set is held
+                        ExactValues dependentValues = null;
+                        for (int referenced = 0; referenced < numColumns; referenced++) {
+                            if (columnRelations.get(dependent) == columnRelations.get(referenced) && columnAttributes.get(dependent).equals(columnAttributes.get(referenced)))
+                                continue; // Skip trivial dependencies
 
-            for (int colIndex = 0; colIndex < columns.length; colIndex++) {
-                String attributeName = relation.getAttributes()[colIndex];
-                Set<Integer> hashedValues = new HashSet<>();
+                            CandidateFilter filter = prune(columnStatistics[dependent], columnStatistics[referenced], columnFingerprints[dependent], columnFingerprints[referenced]);
+                            if (filter != null) {
+                                prunedByDependent[dependent][filter.ordinal()]++;
+                                continue;
+                            }
 
-                for (String value : columns[colIndex]) {
-                    int hashValue = hashValue(normalizeValue(value));
-                    hashedValues.add(hashValue);
-                }
+                            if (dependentValues == null)
+                                dependentValues = new ExactValues(normalizedColumn(columnRelations.get(dependent), columnAttributes.get(dependent)));
+                            if (dependentValues.areIncludedIn(normalizedColumn(columnRelations.get(referenced), columnAttributes.get(referenced))))
+                                inds.add(new IND(columnRelations.get(dependent), columnAttributes.get(dependent), columnRelations.get(referenced), columnAttributes.get(referenced)));
+                        }
+                        return inds;
+                    })
+                    .collect(Collectors.toList())).get();
+
+            indsByDependent.forEach(inclusionDependencies::addAll);
+
+            for (CandidateFilter filter : CandidateFilter.values()) {
+                int count = 0;
+                for (int[] pruned : prunedByDependent)
+                    count += pruned[filter.ordinal()];
+                this.numPrunedCandidates.put(filter, count);
+            }
+            this.numPrunedCandidates.forEach((filter, count) -> System.out.println("Pruned by " + filter + ": " + count));
 
-                columnHashes.get(relationName).put(attributeName, hashedValues);
+            if (discoverNary) {
+                // Level-wise: the valid INDs of arity k generate the candidates of arity k + 1
+                List<IND> currentInds = new ArrayList<>(inclusionDependencies);
+                for (int arity = 2; arity <= this.maxArity && !currentInds.isEmpty(); arity++) {
+                    List<IND> candidates = generateNaryCandidates(currentInds);
+                    List<Boolean> valid = pool.submit(() -> candidates.parallelStream()
+                            .map(candidate -> isValidNary(candidate))
+                            .collect(Collectors.toList())).get();
+
+                    currentInds = new ArrayList<>();
+                    for (int i = 0; i < candidates.size(); i++)
+                        if (valid.get(i))
+                            currentInds.add(candidates.get(i));
+                    System.out.println("Arity " + arity + ": " + currentInds.size() + " of " + candidates.size() + " candidates are valid");
+                    inclusionDependencies.addAll(currentInds);
+                }
             }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            pool.shutdown();
         }
 
-        for (Relation relation : relations) {
-            String relationName = relation.getName();
-            for (int colIndex = 0; colIndex < relation.getAttributes().length; colIndex++) {
-                String attributeName = relation.getAttributes()[colIndex];
-                Set<Integer> baseSet = columnHashes.get(relationName).get(attributeName);
+        return inclusionDependencies;
+    }
+
+    /**
+     * Applies the candidate filters in order of their cost and returns the first one that refutes the candidate.
+     * @return The filter that refuted the candidate or null if the candidate needs exact validation.
+     */
+    private static CandidateFilter prune(ColumnStatistics dependent, ColumnStatistics referenced, FingerprintSet dependentSet, FingerprintSet referencedSet) {
+        if (dependentSet.size() > referencedSet.size())
+            return CandidateFilter.DISTINCT_COUNT;
+        if (!dependent.isEmpty() && dependent.getType() == ColumnStatistics.Type.TEXT && referenced.getType() == ColumnStatistics.Type.NUMERIC)
+            return CandidateFilter.TYPE;
+        if (!dependent.rangeWithin(referenced))
+            return CandidateFilter.VALUE_RANGE;
+        if (!dependent.bloomFilterWithin(referenced))
+            return CandidateFilter.BLOOM_FILTER;
+        if (!referencedSet.containsAll(dependentSet))
+            return CandidateFilter.FINGERPRINTS;
+        return null;
+    }
 
-                for (Relation otherRelation : relations) {
-                    String otherRelationName = otherRelation.getName();
-                    for (int otherColIndex = 0; otherColIndex < otherRelation.getAttributes().length; otherColIndex++) {
-                        if (relation == otherRelation && colIndex == otherColIndex) continue; // Skip trivial dependencies
+    /**
+     * Generates the n-ary IND candidates of the next arity from the valid INDs of the current arity, like MIND does:
+     * two INDs between the same relations that agree in all but their last attribute pair are combined, and the
+     * combination is kept only if all of its sub-INDs of the current arity are valid. The lhs attributes of every
+     * candidate are ascending, so each IND is generated in only one permutation.
+     * @param currentInds The valid INDs of the current arity.
+     * @return The IND candidates of the next arity.
+     */
+    static List<IND> generateNaryCandidates(List<IND> currentInds) {
+        Set<IND> valid = new HashSet<>(currentInds);
 
-                        String otherAttributeName = otherRelation.getAttributes()[otherColIndex];
-                        Set<Integer> compareSet = columnHashes.get(otherRelationName).get(otherAttributeName);
+        Map<List<Object>, List<IND>> prefixBlocks = new LinkedHashMap<>();
+        for (IND ind : currentInds) {
+            int[] lhs = ind.getLhsAttributes().getAttributes();
+            int[] rhs = ind.getRhsAttributes().getAttributes();
+            List<Object> prefix = Arrays.asList(ind.getLhsRelation().getName(), ind.getRhsRelation().getName(),
+                    new AttributeList(Arrays.copyOf(lhs, lhs.length - 1)), new AttributeList(Arrays.copyOf(rhs, rhs.length - 1)));
+            prefixBlocks.computeIfAbsent(prefix, k -> new ArrayList<>()).add(ind);
+        }
 
-                        if (compareSet.containsAll(baseSet)) {
-                            inclusionDependencies.add(new IND(relation, colIndex, otherRelation, otherColIndex));
-                        }
-                    }
+        List<IND> candidates = new ArrayList<>();
+        for (List<IND> block : prefixBlocks.values()) {
+            for (IND ind1 : block) {
+                for (IND ind2 : block) {
+                    if (ind1.getLhsRelation() != ind2.getLhsRelation() || ind1.getRhsRelation() != ind2.getRhsRelation())
+                        continue;
+                    int[] lhs1 = ind1.getLhsAttributes().getAttributes();
+                    int[] rhs1 = ind1.getRhsAttributes().getAttributes();
+                    int lhsLast = ind2.getLhsAttributes().getAttributes()[lhs1.length - 1];
+                    int rhsLast = ind2.getRhsAttributes().getAttributes()[rhs1.length - 1];
+                    if (lhs1[lhs1.length - 1] >= lhsLast || Arrays.stream(rhs1).anyMatch(attribute -> attribute == rhsLast))
+                        continue;
+
+                    int[] lhs = Arrays.copyOf(lhs1, lhs1.length + 1);
+                    int[] rhs = Arrays.copyOf(rhs1, rhs1.length + 1);
+                    lhs[lhs1.length] = lhsLast;
+                    rhs[rhs1.length] = rhsLast;
+                    if (allSubIndsValid(ind1.getLhsRelation(), lhs, ind1.getRhsRelation(), rhs, valid))
+                        candidates.add(new IND(ind1.getLhsRelation(), new AttributeList(lhs), ind1.getRhsRelation(), new AttributeList(rhs)));
                 }
             }
         }
+        return candidates;
+    }
 
-        if (discoverNary) {
-            throw new UnsupportedOperationException("N-ary IND discovery is not supported.");
+    private static boolean allSubIndsValid(Relation lhsRelation, int[] lhs, Relation rhsRelation, int[] rhs, Set<IND> valid) {
+        for (int removed = 0; removed < lhs.length - 2; removed++) {
+            int[] subLhs = new int[lhs.length - 1];
+            int[] subRhs = new int[rhs.length - 1];
+            for (int i = 0, j = 0; i < lhs.length; i++) {
+                if (i == removed)
+                    continue;
+                subLhs[j] = lhs[i];
+                subRhs[j++] = rhs[i];
+            }
+            if (!valid.contains(new IND(lhsRelation, new AttributeList(subLhs), rhsRelation, new AttributeList(subRhs))))
+                return false;
         }
+        return true;
+    }
 
-        return inclusionDependencies;
+    /**
+     * Validates an n-ary IND candidate by hashing the value combinations of its rhs attributes and probing all value
+     * combinations of its lhs attributes against them.
+     */
+    private static boolean isValidNary(IND candidate) {
+        String[][] lhsColumns = columnsOf(candidate.getLhsRelation(), candidate.getLhsAttributes());
+        String[][] rhsColumns = columnsOf(candidate.getRhsRelation(), candidate.getRhsAttributes());
+
+        Set<ValueCombination> rhsCombinations = new HashSet<>(rhsColumns[0].length * 2);
+        for (int record = 0; record < rhsColumns[0].length; record++)
+            rhsCombinations.add(new ValueCombination(rhsColumns, record));
+        for (int record = 0; record < lhsColumns[0].length; record++)
+            if (!rhsCombinations.contains(new ValueCombination(lhsColumns, record)))
+                return false;
+        return true;
+    }
+
+    private static String[][] columnsOf(Relation relation, AttributeList attributes) {
+        String[][] columns = new String[attributes.size()][];
+        for (int i = 0; i < columns.length; i++)
+            columns[i] = normalizedColumn(relation, attributes.getAttributes()[i]);
+        return columns;
+    }
+
+    /**
+     * Reads the normalized values of one attribute directly from the records, without transposing the relation.
+     */
+    static String[] normalizedColumn(Relation relation, int attribute) {
+        String[][] records = relation.getRecords();
+        String[] values = new String[records.length];
+        for (int record = 0; record < records.length; record++)
+            values[record] = normalizeValue(records[record][attribute]);
+        return values;
+    }
+
+    /**
+     * The ExactValues are the distinct values of a dependent column, each with a dense code. An inclusion check scans
+     * the values of the referenced column and stamps every dependent value that it finds, so that it needs neither a
+     * value set of the referenced column nor a copy of the dependent values, and it stops once all values are found.
+     */
+    static class ExactValues {
+
+        private final Object2IntOpenHashMap<String> codes = new Object2IntOpenHashMap<>();
+        private final int[] stamps;
+        private int stamp = 0;
+
+        ExactValues(String[] values) {
+            this.codes.defaultReturnValue(-1);
+            for (String value : values)
+                this.codes.putIfAbsent(value, this.codes.size());
+            this.stamps = new int[this.codes.size()];
+        }
+
+        int size() {
+            return this.stamps.length;
+        }
+
+        boolean areIncludedIn(String[] referencedValues) {
+            return this.numIncludedIn(referencedValues) == this.stamps.length;
+        }
+
+        /**
+         * Counts the distinct values that occur in the referenced values.
+         */
+        int numIncludedIn(String[] referencedValues) {
+            this.stamp++;
+            int numFound = 0;
+            for (String value : referencedValues) {
+                if (numFound == this.stamps.length)
+                    break;
+                int code = this.codes.getInt(value);
+                if (code >= 0 && this.stamps[code] != this.stamp) {
+                    this.stamps[code] = this.stamp;
+                    numFound++;
+                }
+            }
+            return numFound;
+        }
     }
 
-    private String normalizeValue(String value) {
+    static String normalizeValue(String value) {
         if (value == null) {
             return "";
         }
         return value.trim().replaceAll("^\"|\"$", "");
     }
-
-    private int hashValue(String value) {
-        return value.hashCode();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,155 @@
+package de.di.data_profiling;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.AttributeBitSet;
+import de.di.data_profiling.structures.UCC;
+import de.di.data_profiling.structures.ValueCombination;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * The IncrementalUCCProfiler maintains the minimal, non-trivial unique column combinations of a relation that grows by
+ * appended batches of records. It profiles the initial relation once and then keeps, for every minimal UCC, a hash
+ * index from the UCC's value combinations to the record that holds them. Appended records are probed against these
+ * indexes only; UCCs that receive a duplicate are replaced by their minimal unique supersets, which are searched
+ * level-wise upwards from the broken UCCs. Because appends can only break uniqueness but never create it, every new
+ * minimal UCC is a superset of some broken UCC, so the remaining lattice never needs to be revisited.
+ */
+public class IncrementalUCCProfiler {
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final String[] attributes;
+
+    private final List<String[]> records;
+
+    // The current minimal UCCs together with the value indexes that map their value combinations to record ids
+    private final Map<AttributeBitSet, Map<ValueCombination, Integer>> uniqueIndexes = new LinkedHashMap<>();
+
+    // A snapshot of the current relation, which is created lazily after each append
+    private Relation relation;
+
+    /**
+     * Profiles the provided relation and builds the value indexes for all of its minimal UCCs.
+     * @param relation The initial relation.
+     */
+    public IncrementalUCCProfiler(Relation relation) {
+        this.name = relation.getName();
+        this.attributes = relation.getAttributes();
+        this.records = new ArrayList<>(Arrays.asList(relation.getRecords()));
+        this.relation = relation;
+
+        for (UCC ucc : new HyUCCProfiler().profile(relation)) {
+            AttributeBitSet unique = ucc.getAttributeBitSet();
+            this.uniqueIndexes.put(unique, this.buildIndex(unique.toArray()));
+        }
+    }
+
+    /**
+     * Appends the provided records to the maintained relation and updates the minimal UCCs accordingly.
+     * @param batch The records that should be appended.
+     * @return The list of all minimal, non-trivial unique column combinations of the grown relation.
+     */
+    public List<UCC> append(String[][] batch) {
+        int firstNewRecord = this.records.size();
+        for (String[] record : batch)
+            this.records.add(record);
+        this.relation = null;
+
+        // Probe every new record against the index of every UCC; a hit means that this UCC broke
+        List<AttributeBitSet> brokenUniques = new ArrayList<>();
+        Iterator<Map.Entry<AttributeBitSet, Map<ValueCombination, Integer>>> iterator = this.uniqueIndexes.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<AttributeBitSet, Map<ValueCombination, Integer>> entry = iterator.next();
+            int[] uniqueAttributes = entry.getKey().toArray();
+            Map<ValueCombination, Integer> index = entry.getValue();
+            for (int recordId = firstNewRecord; recordId < this.records.size(); recordId++) {
+                if (index.putIfAbsent(new ValueCombination(this.records.get(recordId), uniqueAttributes), recordId) != null) {
+                    brokenUniques.add(entry.getKey());
+                    iterator.remove();
+                    break;
+                }
+            }
+        }
+
+        if (!brokenUniques.isEmpty())
+            this.searchUpwardsFrom(brokenUniques);
+
+        return this.getUniques();
+    }
+
+    /**
+     * Returns the current minimal UCCs, which refer to a snapshot of the current relation.
+     * @return The list of all minimal, non-trivial unique column combinations of the current relation.
+     */
+    public List<UCC> getUniques() {
+        if (this.relation == null)
+            this.relation = new Relation(this.name, this.attributes, this.records.toArray(new String[0][]));
+
+        List<UCC> uniques = new ArrayList<>(this.uniqueIndexes.size());
+        for (AttributeBitSet unique : this.uniqueIndexes.keySet())
+            uniques.add(new UCC(this.relation, unique.toAttributeList()));
+        return UCCProfiler.sortUniques(uniques);
+    }
+
+    /**
+     * Searches the minimal unique supersets of the broken UCCs level by level, so that a candidate is only validated
+     * if no unique subset of it has been found before.
+     * @param brokenUniques The UCCs that became non-unique with the last append.
+     */
+    private void searchUpwardsFrom(List<AttributeBitSet> brokenUniques) {
+        int numAttributes = this.attributes.length;
+
+        // Broken UCCs may have different sizes, so the non-UCCs to extend are kept per lattice level
+        List<Set<AttributeBitSet>> nonUniquesBySize = new ArrayList<>(numAttributes + 1);
+        for (int size = 0; size <= numAttributes; size++)
+            nonUniquesBySize.add(new HashSet<>());
+        for (AttributeBitSet brokenUnique : brokenUniques)
+            nonUniquesBySize.get(brokenUnique.size()).add(brokenUnique);
+
+        for (int size = 1; size < numAttributes; size++) {
+            Set<AttributeBitSet> candidates = new HashSet<>();
+            for (AttributeBitSet nonUnique : nonUniquesBySize.get(size)) {
+                for (int attribute = 0; attribute < numAttributes; attribute++) {
+                    if (nonUnique.contains(attribute))
+                        continue;
+                    AttributeBitSet candidate = nonUnique.with(attribute);
+                    if (!candidates.contains(candidate) && this.isMinimal(candidate))
+                        candidates.add(candidate);
+                }
+            }
+
+            // Validate the whole level before going up, so that all candidates of the next level can be checked for minimality
+            for (AttributeBitSet candidate : candidates) {
+                Map<ValueCombination, Integer> index = this.buildIndex(candidate.toArray());
+                if (index != null)
+                    this.uniqueIndexes.put(candidate, index);
+                else
+                    nonUniquesBySize.get(size + 1).add(candidate);
+            }
+        }
+    }
+
+    private boolean isMinimal(AttributeBitSet candidate) {
+        for (AttributeBitSet unique : this.uniqueIndexes.keySet())
+            if (candidate.supersetOf(unique))
+                return false;
+        return true;
+    }
+
+    /**
+     * Builds the value index for the provided attributes over all current records.
+     * @param uniqueAttributes The attributes whose value combinations should be indexed.
+     * @return The value index or null if the attributes contain a duplicate value combination.
+     */
+    private Map<ValueCombination, Integer> buildIndex(int[] uniqueAttributes) {
+        Map<ValueCombination, Integer> index = new HashMap<>(this.records.size() * 2);
+        for (int recordId = 0; recordId < this.records.size(); recordId++)
+            if (index.putIfAbsent(new ValueCombination(this.records.get(recordId), uniqueAttributes), recordId) != null)
+                return null;
+        return index;
+    }
+}
@@ -0,0 +1,106 @@
+package de.di.data_profiling;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.FingerprintSet;
+import de.di.data_profiling.structures.IND;
+import de.di.data_profiling.structures.LSHEnsemble;
+import de.di.data_profiling.structures.PartialIND;
+import de.di.similarity_measures.helper.MinHash;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import java.util.*;
+
+/**
+ * The PartialINDProfiler discovers approximate unary inclusion dependencies, i.e., pairs of columns where at least a
+ * given share of the distinct dependent values occurs in the referenced column. Every column is summarized by a
+ * MinHash signature over its value fingerprints, and an LSHEnsemble index over all signatures finds the referenced
+ * candidates of each dependent column without comparing all column pairs. The containment of every candidate is then
+ * estimated from the two signatures and, optionally, verified on the exact values.
+ */
+public class PartialINDProfiler {
+
+    // The minimum share of distinct dependent values that must occur in the referenced column
+    private final double containmentThreshold;
+
+    private final int numHashFunctions;
+
+    private final int numPartitions;
+
+    // Whether the candidates should be verified on the exact values; otherwise, the estimated containment is reported
+    private final boolean verify;
+
+    public PartialINDProfiler(final double containmentThreshold, final boolean verify) {
+        this(containmentThreshold, 128, 8, verify);
+    }
+
+    public PartialINDProfiler(final double containmentThreshold, final int numHashFunctions, final int numPartitions, final boolean verify) {
+        this.containmentThreshold = containmentThreshold;
+        this.numHashFunctions = numHashFunctions;
+        this.numPartitions = numPartitions;
+        this.verify = verify;
+    }
+
+    /**
+     * Discovers all non-trivial partial unary inclusion dependencies whose containment reaches the threshold.
+     * @param relations The list of relations to be profiled for partial inclusion dependencies.
+     * @return The partial INDs, ordered by dependent and then by referenced column.
+     */
+    public List<PartialIND> profile(List<Relation> relations) {
+        List<Relation> columnRelations = new ArrayList<>();
+        IntArrayList columnAttributes = new IntArrayList();
+        for (Relation relation : relations) {
+            for (int attribute = 0; attribute < relation.getAttributes().length; attribute++) {
+                columnRelations.add(relation);
+                columnAttributes.add(attribute);
+            }
+        }
+        int numColumns = columnRelations.size();
+
+        List<MinHash> minHashFunctions = new ArrayList<>(this.numHashFunctions);
+        for (int i = 0; i < this.numHashFunctions; i++)
+            minHashFunctions.add(new MinHash(i));
+
+        List<long[]> signatures = new ArrayList<>(numColumns);
+        int[] sizes = new int[numColumns];
+        for (int column = 0; column < numColumns; column++) {
+            FingerprintSet fingerprints = new FingerprintSet(INDProfiler.normalizedColumn(columnRelations.get(column), columnAttributes.getInt(column)));
+            long[] signature = new long[this.numHashFunctions];
+            for (int i = 0; i < this.numHashFunctions; i++)
+                signature[i] = minHashFunctions.get(i).hash(fingerprints.getFingerprints());
+            signatures.add(signature);
+            sizes[column] = fingerprints.size();
+        }
+
+        LSHEnsemble index = new LSHEnsemble(signatures, sizes, this.numPartitions);
+
+        List<PartialIND> partialInds = new ArrayList<>();
+        for (int dependent = 0; dependent < numColumns; dependent++) {
+            if (sizes[dependent] == 0)
+                continue;
+
+            int[] candidates = index.query(signatures.get(dependent), sizes[dependent], this.containmentThreshold).toIntArray();
+            Arrays.sort(candidates);
+
+            // The exact values of the dependent are built once for all of its candidates; the referenced columns are
+            // re-read and scanned against them, so no value set of another column is held
+            INDProfiler.ExactValues dependentValues = null;
+            for (int referenced : candidates) {
+                if (referenced == dependent)
+                    continue;
+
+                double containment = LSHEnsemble.estimateContainment(signatures.get(dependent), sizes[dependent], signatures.get(referenced), sizes[referenced]);
+                if (this.verify) {
+                    if (dependentValues == null)
+                        dependentValues = new INDProfiler.ExactValues(INDProfiler.normalizedColumn(columnRelations.get(dependent), columnAttributes.getInt(dependent)));
+                    int numContained = dependentValues.numIncludedIn(INDProfiler.normalizedColumn(columnRelations.get(referenced), columnAttributes.getInt(referenced)));
+                    containment = (double) numContained / dependentValues.size();
+                }
+                if (containment >= this.containmentThreshold) {
+                    IND ind = new IND(columnRelations.get(dependent), columnAttributes.getInt(dependent), columnRelations.get(referenced), columnAttributes.getInt(referenced));
+                    partialInds.add(new PartialIND(ind, containment, this.verify));
+                }
+            }
+        }
+        return partialInds;
+    }
+}
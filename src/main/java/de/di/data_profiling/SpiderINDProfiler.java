@@ -0,0 +1,181 @@
+package de.di.data_profiling;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.AttributeBitSet;
+import de.di.data_profiling.structures.IND;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * The SpiderINDProfiler discovers the same non-trivial unary inclusion dependencies as the INDProfiler with the
+ * SPIDER algorithm: it writes the sorted, distinct values of every column into a temporary file and then merges all
+ * of these value lists in one synchronized pass. Every column starts with all other columns as referenced candidates;
+ * whenever the merge reaches a value, each column that contains it keeps only those candidates that contain it as
+ * well. Columns that have no candidates left and are no candidate of any other column are not read any further.
+ */
+public class SpiderINDProfiler {
+
+    /**
+     * Discovers all non-trivial unary inclusion dependencies in the provided relations.
+     * @param relations The list of relations to be profiled for inclusion dependencies.
+     * @return A list of all discovered non-trivial unary inclusion dependencies.
+     */
+    public List<IND> profile(List<Relation> relations) {
+        // Number all columns of all relations consecutively
+        List<Relation> columnRelations = new ArrayList<>();
+        IntArrayList columnAttributes = new IntArrayList();
+        for (Relation relation : relations) {
+            for (int attribute = 0; attribute < relation.getAttributes().length; attribute++) {
+                columnRelations.add(relation);
+                columnAttributes.add(attribute);
+            }
+        }
+        int numColumns = columnRelations.size();
+
+        AttributeBitSet[] referencedCandidates;
+        try {
+            Path file = Files.createTempFile("spider", ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                ValueCursor[] cursors = new ValueCursor[numColumns];
+                long[] offsets = new long[numColumns + 1];
+                int column = 0;
+                for (Relation relation : relations) {
+                    String[][] columns = relation.getColumns();
+                    for (String[] values : columns) {
+                        offsets[column + 1] = offsets[column] + this.writeSortedValues(values, channel, offsets[column]);
+                        column++;
+                    }
+                }
+                for (column = 0; column < numColumns; column++)
+                    cursors[column] = new ValueCursor(column, channel.map(FileChannel.MapMode.READ_ONLY, offsets[column], offsets[column + 1] - offsets[column]));
+
+                referencedCandidates = this.merge(cursors);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        List<IND> inclusionDependencies = new ArrayList<>();
+        for (int dependent = 0; dependent < numColumns; dependent++) {
+            AttributeBitSet referenced = referencedCandidates[dependent];
+            for (int reference = referenced.nextAttribute(0); reference >= 0; reference = referenced.nextAttribute(reference + 1))
+                inclusionDependencies.add(new IND(columnRelations.get(dependent), columnAttributes.getInt(dependent), columnRelations.get(reference), columnAttributes.getInt(reference)));
+        }
+        return inclusionDependencies;
+    }
+
+    /**
+     * Writes the sorted, distinct and normalized values of a column as length-prefixed UTF-8 strings into the channel.
+     * @param values The values of the column.
+     * @param channel The channel of the temporary file.
+     * @param position The position in the file at which the values should be written.
+     * @return The number of bytes written.
+     */
+    private long writeSortedValues(String[] values, FileChannel channel, long position) throws IOException {
+        SortedSet<String> sortedValues = new TreeSet<>();
+        for (String value : values)
+            sortedValues.add(INDProfiler.normalizeValue(value));
+
+        List<byte[]> encodedValues = new ArrayList<>(sortedValues.size());
+        int length = 0;
+        for (String value : sortedValues) {
+            byte[] encodedValue = value.getBytes(StandardCharsets.UTF_8);
+            encodedValues.add(encodedValue);
+            length += 4 + encodedValue.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (byte[] encodedValue : encodedValues)
+            buffer.putInt(encodedValue.length).put(encodedValue);
+        buffer.flip();
+        while (buffer.hasRemaining())
+            position += channel.write(buffer, position);
+        return length;
+    }
+
+    /**
+     * Merges the sorted value lists of all columns and refutes the IND candidates on the way.
+     * @param cursors The cursors over the sorted value lists of all columns.
+     * @return For every column, the set of columns that include it.
+     */
+    private AttributeBitSet[] merge(ValueCursor[] cursors) {
+        int numColumns = cursors.length;
+        AttributeBitSet[] referencedCandidates = new AttributeBitSet[numColumns];
+        int[] numDependentCandidates = new int[numColumns];
+        for (int column = 0; column < numColumns; column++) {
+            referencedCandidates[column] = AttributeBitSet.full(numColumns).without(column);
+            numDependentCandidates[column] = numColumns - 1;
+        }
+
+        PriorityQueue<ValueCursor> queue = new PriorityQueue<>();
+        for (ValueCursor cursor : cursors)
+            if (cursor.advance())
+                queue.add(cursor);
+
+        IntArrayList group = new IntArrayList();
+        while (!queue.isEmpty()) {
+            // Collect all columns that contain the current smallest value
+            String value = queue.peek().current;
+            group.clear();
+            while (!queue.isEmpty() && queue.peek().current.equals(value))
+                group.add(queue.poll().column);
+            AttributeBitSet containing = AttributeBitSet.of(numColumns, group.toIntArray());
+
+            for (int i = 0; i < group.size(); i++) {
+                int dependent = group.getInt(i);
+                AttributeBitSet refuted = referencedCandidates[dependent].minus(containing);
+                for (int reference = refuted.nextAttribute(0); reference >= 0; reference = refuted.nextAttribute(reference + 1))
+                    numDependentCandidates[reference]--;
+                referencedCandidates[dependent] = referencedCandidates[dependent].intersect(containing);
+            }
+
+            for (int i = 0; i < group.size(); i++) {
+                int column = group.getInt(i);
+                boolean needed = !referencedCandidates[column].isEmpty() || numDependentCandidates[column] > 0;
+                if (needed && cursors[column].advance())
+                    queue.add(cursors[column]);
+            }
+        }
+        return referencedCandidates;
+    }
+
+    /**
+     * A ValueCursor iterates the sorted values of one column in its memory-mapped region of the temporary file.
+     */
+    private static class ValueCursor implements Comparable<ValueCursor> {
+
+        private final int column;
+        private final ByteBuffer buffer;
+        private String current;
+
+        private ValueCursor(int column, ByteBuffer buffer) {
+            this.column = column;
+            this.buffer = buffer;
+        }
+
+        private boolean advance() {
+            if (!this.buffer.hasRemaining()) {
+                this.current = null;
+                return false;
+            }
+            byte[] encodedValue = new byte[this.buffer.getInt()];
+            this.buffer.get(encodedValue);
+            this.current = new String(encodedValue, StandardCharsets.UTF_8);
+            return true;
+        }
+
+        @Override
+        public int compareTo(ValueCursor other) {
+            int valueDiff = this.current.compareTo(other.current);
+            return (valueDiff != 0) ? valueDiff : Integer.compare(this.column, other.column);
+        }
+    }
+}
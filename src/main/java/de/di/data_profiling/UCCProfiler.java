@@ -1,11 +1,15 @@
 package de.di.data_profiling;
 
 import de.di.Relation;
+import de.di.data_profiling.structures.AttributeBitSet;
 import de.di.data_profiling.structures.AttributeList;
 import de.di.data_profiling.structures.PositionListIndex;
+import de.di.data_profiling.structures.PositionListIndexStore;
 import de.di.data_profiling.structures.UCC;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -13,6 +17,18 @@ import java.util.stream.Collectors;
 
 public class UCCProfiler {
 
+    // The maximum number of heap bytes that the PLIs of the current and the next lattice level may occupy before the
+    // least recently used ones are spilled to disk
+    private final long heapBudget;
+
+    public UCCProfiler() {
+        this(Runtime.getRuntime().maxMemory() / 2);
+    }
+
+    public UCCProfiler(final long heapBudget) {
+        this.heapBudget = heapBudget;
+    }
+
     /**
      * Discovers all minimal, non-trivial unique column combinations in the provided relation.
      *
@@ -21,50 +37,201 @@ public class UCCProfiler {
      */
     public List<UCC> profile(Relation relation) {
         int numAttributes = relation.getAttributes().length;
-        List<UCC> uniques = new ArrayList<>();
-        List<PositionListIndex> currentNonUniques = new ArrayList<>();
-
-        // Calculate all unary UCCs and unary non-UCCs
-        for (int attribute = 0; attribute < numAttributes; attribute++) {
-            AttributeList attributes = new AttributeList(attribute);
-            PositionListIndex pli = new PositionListIndex(attributes, relation.getColumns()[attribute]);
-            if (pli.isUnique()) {
-                uniques.add(new UCC(relation, attributes));
-                System.out.println("Unary UCC: " + attributes);
-            } else {
-                currentNonUniques.add(pli);
-                System.out.println("Unary Non-UCC: " + attributes);
-            }
+
+        // Pre-pass: collapse attributes with equivalent partitions into one representative each and order the
+        // representatives by descending distinct count; the lattice search below runs over these representatives only
+        String[][] columns = relation.getColumns();
+        PositionListIndex[] unaryPlis = PositionListIndex.buildAll(columns);
+        List<int[]> equivalenceClasses = findEquivalenceClasses(unaryPlis);
+        int numRepresentatives = equivalenceClasses.size();
+        if (numRepresentatives < numAttributes)
+            System.out.println("Collapsed " + numAttributes + " attributes into " + numRepresentatives + " equivalence classes");
+
+        // If two records are exact duplicates, not even the set of all attributes is unique
+        if (hasDuplicateRecords(unaryPlis, equivalenceClasses)) {
+            System.out.println("Relation contains duplicate records, so it has no UCCs");
+            return new ArrayList<>();
         }
 
-        // Discover all UCCs of size n > 1
-        int level = 1;
-        while (!currentNonUniques.isEmpty()) {
-            List<PositionListIndex> nextNonUniques = new ArrayList<>();
-            Set<AttributeList> candidates = generateCandidates(currentNonUniques);
-
-            for (AttributeList candidate : candidates) {
-                String[] mergedColumns = mergeColumns(relation, candidate);
-                PositionListIndex pli = new PositionListIndex(candidate, mergedColumns);
-                if (pli.isUnique()) {
-                    if (isMinimal(candidate, uniques)) {
-                        uniques.add(new UCC(relation, candidate));
-                        System.out.println("UCC of size " + candidate.size() + ": " + candidate);
+        List<AttributeList> reducedUniques = new ArrayList<>();
+        List<AttributeBitSet> uniqueBitSets = new ArrayList<>();
+        List<AttributeList> currentNonUniques = new ArrayList<>();
+
+        try (PositionListIndexStore plis = new PositionListIndexStore(this.heapBudget)) {
+            // Calculate all unary UCCs and unary non-UCCs
+            for (int position = 0; position < numRepresentatives; position++) {
+                AttributeList attributes = new AttributeList(position);
+                PositionListIndex representativePli = unaryPlis[equivalenceClasses.get(position)[0]];
+                if (representativePli.isUnique()) {
+                    reducedUniques.add(attributes);
+                    uniqueBitSets.add(AttributeBitSet.of(numRepresentatives, attributes));
+                    System.out.println("Unary UCC: " + toSchema(attributes, equivalenceClasses));
+                } else {
+                    currentNonUniques.add(attributes);
+                    plis.put(new PositionListIndex(attributes, representativePli.getClusters(), representativePli.relationLength()));
+                    System.out.println("Unary Non-UCC: " + toSchema(attributes, equivalenceClasses));
+                }
+            }
+
+            // Discover all UCCs of size n > 1
+            int level = 1;
+            while (!currentNonUniques.isEmpty()) {
+                List<AttributeList> nextNonUniques = new ArrayList<>();
+                Set<AttributeList> candidates = generateCandidates(currentNonUniques);
+
+                for (AttributeList candidate : candidates) {
+                    // The two generating non-UCCs are the candidate without its last and without its second to last attribute
+                    int[] attributes = candidate.getAttributes();
+                    int[] parentAttributes = Arrays.copyOf(attributes, attributes.length - 1);
+                    PositionListIndex parentPli1 = plis.get(new AttributeList(parentAttributes.clone()));
+                    parentAttributes[parentAttributes.length - 1] = attributes[attributes.length - 1];
+                    PositionListIndex parentPli2 = plis.get(new AttributeList(parentAttributes));
+                    // Most candidates that reach this point are unique, which a probe can confirm without building their PLI
+                    if (parentPli1.isUniqueWith(parentPli2)) {
+                        AttributeBitSet candidateBitSet = AttributeBitSet.of(numRepresentatives, candidate);
+                        if (isMinimal(candidateBitSet, uniqueBitSets)) {
+                            reducedUniques.add(candidate);
+                            uniqueBitSets.add(candidateBitSet);
+                            System.out.println("UCC of size " + candidate.size() + ": " + toSchema(candidate, equivalenceClasses));
+                        } else {
+                            System.out.println("Non-minimal UCC of size " + candidate.size() + ": " + toSchema(candidate, equivalenceClasses));
+                        }
                     } else {
-                        System.out.println("Non-minimal UCC of size " + candidate.size() + ": " + candidate);
+                        nextNonUniques.add(candidate);
+                        plis.put(parentPli1.intersect(parentPli2));
+                        System.out.println("Non-UCC of size " + candidate.size() + ": " + toSchema(candidate, equivalenceClasses));
                     }
-                } else {
-                    nextNonUniques.add(pli);
-                    System.out.println("Non-UCC of size " + candidate.size() + ": " + candidate);
                 }
+
+                // The PLIs of the current level are not needed anymore once the next level is complete
+                currentNonUniques.forEach(plis::remove);
+                currentNonUniques = nextNonUniques;
+                level++;
             }
 
-            currentNonUniques = nextNonUniques;
-            level++;
+            if (plis.getNumSpills() > 0)
+                System.out.println("Spilled " + plis.getNumSpills() + " PLIs and paged " + plis.getNumLoads() + " PLIs back in");
         }
 
+        // Expand every UCC over representatives into all UCCs that pick one attribute of each of its equivalence classes
+        List<UCC> uniques = new ArrayList<>();
+        for (AttributeList reducedUnique : reducedUniques)
+            for (AttributeList unique : expand(reducedUnique, equivalenceClasses))
+                uniques.add(new UCC(relation, unique));
+
         // Sort the unique column combinations before returning
-        List<UCC> sortedUniques = uniques.stream()
+        List<UCC> sortedUniques = sortUniques(uniques);
+
+        sortedUniques.forEach(ucc -> System.out.println("Sorted UCC: " + ucc.getAttributeList()));
+        return sortedUniques;
+    }
+
+    /**
+     * Checks whether the relation contains two identical records, i.e., whether the intersection of the PLIs of all
+     * attributes still has a cluster. Attributes of the same equivalence class have the same partition, so the PLIs of
+     * the representatives suffice; they are intersected from the most selective one on, and the check stops as soon
+     * as an intersection is unique.
+     * @param unaryPlis The PLIs of all single attributes.
+     * @param equivalenceClasses The equivalence classes of the attributes ordered by descending distinct count.
+     * @return true if the relation contains duplicate records.
+     */
+    static boolean hasDuplicateRecords(PositionListIndex[] unaryPlis, List<int[]> equivalenceClasses) {
+        if (equivalenceClasses.isEmpty())
+            return false;
+        PositionListIndex pli = unaryPlis[equivalenceClasses.get(0)[0]];
+        for (int position = 1; position < equivalenceClasses.size() && !pli.isUnique(); position++) {
+            PositionListIndex representativePli = unaryPlis[equivalenceClasses.get(position)[0]];
+            if (pli.isUniqueWith(representativePli))
+                return false;
+            pli = pli.intersect(representativePli);
+        }
+        return !pli.isUnique();
+    }
+
+    /**
+     * Groups the attributes into classes of attributes with the same partition, e.g., a code and its label. Because
+     * such attributes are interchangeable in every UCC, the lattice needs to contain only one of them. The classes are
+     * ordered by descending distinct count of their partitions, so that the most selective attributes come first in
+     * every candidate and the intersections start from the smallest PLIs.
+     * @param unaryPlis The PLIs of all single attributes.
+     * @return The equivalence classes as ascending arrays of attributes; the first attribute of each class is its representative.
+     */
+    static List<int[]> findEquivalenceClasses(PositionListIndex[] unaryPlis) {
+        List<IntArrayList> classes = new ArrayList<>();
+        for (int attribute = 0; attribute < unaryPlis.length; attribute++) {
+            IntArrayList equivalenceClass = null;
+            for (IntArrayList candidateClass : classes) {
+                if (unaryPlis[candidateClass.getInt(0)].hasSamePartitionAs(unaryPlis[attribute])) {
+                    equivalenceClass = candidateClass;
+                    break;
+                }
+            }
+            if (equivalenceClass == null) {
+                equivalenceClass = new IntArrayList();
+                classes.add(equivalenceClass);
+            }
+            equivalenceClass.add(attribute);
+        }
+
+        return classes.stream()
+                .sorted((class1, class2) -> {
+                    int distinctDiff = unaryPlis[class2.getInt(0)].numDistinctValues() - unaryPlis[class1.getInt(0)].numDistinctValues();
+                    return (distinctDiff != 0) ? distinctDiff : class1.getInt(0) - class2.getInt(0);
+                })
+                .map(IntArrayList::toIntArray)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Translates a list of representative positions into the schema attributes of these representatives.
+     * @param positions The positions of the representatives.
+     * @param equivalenceClasses The equivalence classes of the representatives.
+     * @return The sorted list of representative attributes.
+     */
+    private static AttributeList toSchema(AttributeList positions, List<int[]> equivalenceClasses) {
+        int[] attributes = new int[positions.size()];
+        for (int i = 0; i < attributes.length; i++)
+            attributes[i] = equivalenceClasses.get(positions.getAttributes()[i])[0];
+        Arrays.sort(attributes);
+        return new AttributeList(attributes);
+    }
+
+    /**
+     * Expands a UCC over representative positions into all UCCs that choose one attribute from each equivalence class.
+     * @param positions The positions of the representatives.
+     * @param equivalenceClasses The equivalence classes of the representatives.
+     * @return The expanded attribute lists, each sorted.
+     */
+    private static List<AttributeList> expand(AttributeList positions, List<int[]> equivalenceClasses) {
+        List<int[]> combinations = new ArrayList<>();
+        combinations.add(new int[0]);
+        for (int position : positions.getAttributes()) {
+            List<int[]> extendedCombinations = new ArrayList<>();
+            for (int[] combination : combinations) {
+                for (int attribute : equivalenceClasses.get(position)) {
+                    int[] extendedCombination = Arrays.copyOf(combination, combination.length + 1);
+                    extendedCombination[combination.length] = attribute;
+                    extendedCombinations.add(extendedCombination);
+                }
+            }
+            combinations = extendedCombinations;
+        }
+
+        List<AttributeList> expanded = new ArrayList<>(combinations.size());
+        for (int[] combination : combinations) {
+            Arrays.sort(combination);
+            expanded.add(new AttributeList(combination));
+        }
+        return expanded;
+    }
+
+    /**
+     * Sorts unique column combinations by their size and, within the same size, lexicographically by their attributes.
+     * @param uniques The unique column combinations to sort.
+     * @return The sorted unique column combinations.
+     */
+    static List<UCC> sortUniques(List<UCC> uniques) {
+        return uniques.stream()
                 .sorted((ucc1, ucc2) -> {
                     int sizeDiff = ucc1.getAttributeList().size() - ucc2.getAttributeList().size();
                     if (sizeDiff != 0) {
@@ -79,23 +246,20 @@ public class UCCProfiler {
                     return 0;
                 })
                 .collect(Collectors.toList());
-
-        sortedUniques.forEach(ucc -> System.out.println("Sorted UCC: " + ucc.getAttributeList()));
-        return sortedUniques;
     }
 
     /**
      * Generates candidate attribute lists for the next level.
-     * @param currentNonUniques The current non-unique PLIs.
+     * @param currentNonUniques The attribute lists of the current non-uniques.
      * @return A set of candidate attribute lists for the next level.
      */
-    private Set<AttributeList> generateCandidates(List<PositionListIndex> currentNonUniques) {
+    private Set<AttributeList> generateCandidates(List<AttributeList> currentNonUniques) {
         Set<AttributeList> candidates = new HashSet<>();
 
         for (int i = 0; i < currentNonUniques.size(); i++) {
             for (int j = i + 1; j < currentNonUniques.size(); j++) {
-                AttributeList attrList1 = currentNonUniques.get(i).getAttributes();
-                AttributeList attrList2 = currentNonUniques.get(j).getAttributes();
+                AttributeList attrList1 = currentNonUniques.get(i);
+                AttributeList attrList2 = currentNonUniques.get(j);
 
                 if (attrList1.samePrefixAs(attrList2)) {
                     AttributeList candidate = attrList1.union(attrList2);
@@ -115,12 +279,12 @@ public class UCCProfiler {
     /**
      * Checks if a candidate is a valid candidate attribute list.
      * @param candidate The candidate attribute list.
-     * @param currentNonUniques The current non-unique PLIs.
+     * @param currentNonUniques The attribute lists of the current non-uniques.
      * @return True if the candidate is valid, false otherwise.
      */
-    private boolean isValidCandidate(AttributeList candidate, List<PositionListIndex> currentNonUniques) {
-        for (PositionListIndex pli : currentNonUniques) {
-            if (candidate.sublistOf(pli.getAttributes())) {
+    private boolean isValidCandidate(AttributeList candidate, List<AttributeList> currentNonUniques) {
+        for (AttributeList nonUnique : currentNonUniques) {
+            if (candidate.sublistOf(nonUnique)) {
                 return false;
             }
         }
@@ -129,49 +293,16 @@ public class UCCProfiler {
 
     /**
      * Checks if a candidate is a valid minimal unique column combination.
-     * @param candidate The candidate attribute list.
-     * @param uniques The current list of unique column combinations.
+     * @param candidate The candidate attribute set.
+     * @param uniques The attribute sets of the current unique column combinations.
      * @return True if the candidate is minimal, false otherwise.
      */
-    private boolean isMinimal(AttributeList candidate, List<UCC> uniques) {
-        for (UCC ucc : uniques) {
-            if (candidate.supersetOf(ucc.getAttributeList())) {
+    private boolean isMinimal(AttributeBitSet candidate, List<AttributeBitSet> uniques) {
+        for (AttributeBitSet unique : uniques) {
+            if (candidate.supersetOf(unique)) {
                 return false;
             }
         }
         return true;
     }
-
-    /**
-     * Merges multiple columns from the relation based on the attribute list.
-     * @param relation The relation.
-     * @param attributes The attribute list specifying the columns to merge.
-     * @return The merged columns as a single string array.
-     */
-    private String[] mergeColumns(Relation relation, AttributeList attributes) {
-        String[][] records = relation.getRecords();
-        int[] attributeIndices = attributes.getAttributes();
-        String[] mergedColumns = new String[records.length];
-
-        for (int i = 0; i < records.length; i++) {
-            StringBuilder mergedValue = new StringBuilder();
-            for (int attributeIndex : attributeIndices) {
-                // Check if the attribute index is within bounds
-                if (attributeIndex >= 0 && attributeIndex < records[i].length) {
-                    mergedValue.append(records[i][attributeIndex]).append(",");
-                } else {
-                    // Handle case where attribute index is out of bounds
-                    // You can choose to append a placeholder value or handle it differently based on your requirements
-                    mergedValue.append("N/A").append(",");
-                }
-            }
-            // Remove the last comma from the merged value
-            if (mergedValue.length() > 0) {
-                mergedValue.deleteCharAt(mergedValue.length() - 1);
-            }
-            mergedColumns[i] = mergedValue.toString();
-        }
-
-        return mergedColumns;
-    }
 }
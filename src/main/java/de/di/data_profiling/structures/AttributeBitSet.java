@@ -0,0 +1,307 @@
+package de.di.data_profiling.structures;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * An AttributeBitSet is the bitset counterpart of an AttributeList: it stores the attribute indexes of one schema as
+ * bits in long words, so that unions, subset and superset checks become a few word operations. Schemata with at most
+ * 64 attributes use a single word, wider schemata use an array of words. Bitsets are immutable and, like attribute
+ * lists, only comparable if they describe the same schema.
+ */
+public class AttributeBitSet {
+
+    private static final int WORD_SIZE = 64;
+
+    // The number of attributes in the schema, which bounds the attribute indexes this bitset can hold
+    @Getter
+    private final int numAttributes;
+
+    // The single word that stores the attributes if the schema has at most 64 attributes
+    private final long word;
+
+    // The words that store the attributes if the schema has more than 64 attributes; null otherwise
+    private final long[] words;
+
+    private AttributeBitSet(final int numAttributes, final long word, final long[] words) {
+        this.numAttributes = numAttributes;
+        this.word = word;
+        this.words = words;
+    }
+
+    /**
+     * Creates an empty bitset for a schema with the given number of attributes.
+     * @param numAttributes The number of attributes in the schema.
+     * @return An empty bitset.
+     */
+    public static AttributeBitSet empty(final int numAttributes) {
+        if (numAttributes <= WORD_SIZE)
+            return new AttributeBitSet(numAttributes, 0L, null);
+        return new AttributeBitSet(numAttributes, 0L, new long[(numAttributes - 1) / WORD_SIZE + 1]);
+    }
+
+    /**
+     * Creates a bitset that contains all attributes of a schema with the given number of attributes.
+     * @param numAttributes The number of attributes in the schema.
+     * @return A bitset with all attribute bits set.
+     */
+    public static AttributeBitSet full(final int numAttributes) {
+        if (numAttributes <= WORD_SIZE)
+            return new AttributeBitSet(numAttributes, mask(numAttributes), null);
+        long[] words = new long[(numAttributes - 1) / WORD_SIZE + 1];
+        Arrays.fill(words, -1L);
+        words[words.length - 1] = mask(numAttributes - (words.length - 1) * WORD_SIZE);
+        return new AttributeBitSet(numAttributes, 0L, words);
+    }
+
+    /**
+     * Creates a bitset that contains the provided attribute indexes.
+     * @param numAttributes The number of attributes in the schema.
+     * @param attributes The attribute indexes that should be set.
+     * @return A bitset with the provided attribute bits set.
+     */
+    public static AttributeBitSet of(final int numAttributes, final int... attributes) {
+        if (numAttributes <= WORD_SIZE) {
+            long word = 0L;
+            for (int attribute : attributes)
+                word |= 1L << attribute;
+            return new AttributeBitSet(numAttributes, word, null);
+        }
+        long[] words = new long[(numAttributes - 1) / WORD_SIZE + 1];
+        for (int attribute : attributes)
+            words[attribute / WORD_SIZE] |= 1L << attribute;
+        return new AttributeBitSet(numAttributes, 0L, words);
+    }
+
+    /**
+     * Creates a bitset that contains the attributes of the provided attribute list.
+     * @param numAttributes The number of attributes in the schema.
+     * @param attributeList The attribute list whose attributes should be set.
+     * @return A bitset with the attribute list's attribute bits set.
+     */
+    public static AttributeBitSet of(final int numAttributes, final AttributeList attributeList) {
+        return of(numAttributes, attributeList.getAttributes());
+    }
+
+    private static long mask(int numBits) {
+        return (numBits == WORD_SIZE) ? -1L : (1L << numBits) - 1;
+    }
+
+    /**
+     * Converts this bitset into an attribute list with ascending attribute indexes.
+     * @return The attribute list that contains the same attributes as this bitset.
+     */
+    public AttributeList toAttributeList() {
+        return new AttributeList(this.toArray());
+    }
+
+    /**
+     * Returns the attribute indexes of this bitset in ascending order.
+     * @return The ascending attribute indexes of this bitset.
+     */
+    public int[] toArray() {
+        int[] attributes = new int[this.size()];
+        int i = 0;
+        for (int attribute = this.nextAttribute(0); attribute >= 0; attribute = this.nextAttribute(attribute + 1))
+            attributes[i++] = attribute;
+        return attributes;
+    }
+
+    /**
+     * Returns the number of attributes in this bitset.
+     * @return The number of attributes in this bitset.
+     */
+    public int size() {
+        if (this.words == null)
+            return Long.bitCount(this.word);
+        int size = 0;
+        for (long w : this.words)
+            size += Long.bitCount(w);
+        return size;
+    }
+
+    /**
+     * Checks weather this bitset contains no attributes.
+     * @return true if no attribute bit is set.
+     */
+    public boolean isEmpty() {
+        if (this.words == null)
+            return this.word == 0L;
+        for (long w : this.words)
+            if (w != 0L)
+                return false;
+        return true;
+    }
+
+    /**
+     * Checks weather the provided attribute is contained in this bitset.
+     * @param attribute The attribute index to check.
+     * @return true if the attribute bit is set.
+     */
+    public boolean contains(final int attribute) {
+        if (this.words == null)
+            return (this.word & (1L << attribute)) != 0L;
+        return (this.words[attribute / WORD_SIZE] & (1L << attribute)) != 0L;
+    }
+
+    /**
+     * Returns the smallest attribute index that is greater than or equal to the provided index and contained in this bitset.
+     * @param fromAttribute The attribute index to start the search from.
+     * @return The next contained attribute index or -1 if there is none.
+     */
+    public int nextAttribute(final int fromAttribute) {
+        if (fromAttribute >= this.numAttributes)
+            return -1;
+        if (this.words == null) {
+            long remaining = this.word & (-1L << fromAttribute);
+            return (remaining == 0L) ? -1 : Long.numberOfTrailingZeros(remaining);
+        }
+        int wordIndex = fromAttribute / WORD_SIZE;
+        long remaining = this.words[wordIndex] & (-1L << fromAttribute);
+        while (remaining == 0L) {
+            if (++wordIndex == this.words.length)
+                return -1;
+            remaining = this.words[wordIndex];
+        }
+        return wordIndex * WORD_SIZE + Long.numberOfTrailingZeros(remaining);
+    }
+
+    /**
+     * Returns a copy of this bitset with the provided attribute added.
+     * @param attribute The attribute index to add.
+     * @return A bitset with all attributes of this bitset and the provided attribute.
+     */
+    public AttributeBitSet with(final int attribute) {
+        if (this.words == null)
+            return new AttributeBitSet(this.numAttributes, this.word | (1L << attribute), null);
+        long[] words = this.words.clone();
+        words[attribute / WORD_SIZE] |= 1L << attribute;
+        return new AttributeBitSet(this.numAttributes, 0L, words);
+    }
+
+    /**
+     * Returns a copy of this bitset with the provided attribute removed.
+     * @param attribute The attribute index to remove.
+     * @return A bitset with all attributes of this bitset except the provided attribute.
+     */
+    public AttributeBitSet without(final int attribute) {
+        if (this.words == null)
+            return new AttributeBitSet(this.numAttributes, this.word & ~(1L << attribute), null);
+        long[] words = this.words.clone();
+        words[attribute / WORD_SIZE] &= ~(1L << attribute);
+        return new AttributeBitSet(this.numAttributes, 0L, words);
+    }
+
+    /**
+     * Calculates the union of this bitset and the provided bitset.
+     * @param other The other bitset to union this bitset with.
+     * @return The union of both bitsets.
+     */
+    public AttributeBitSet union(final AttributeBitSet other) {
+        if (this.words == null)
+            return new AttributeBitSet(this.numAttributes, this.word | other.word, null);
+        long[] words = new long[this.words.length];
+        for (int i = 0; i < words.length; i++)
+            words[i] = this.words[i] | other.words[i];
+        return new AttributeBitSet(this.numAttributes, 0L, words);
+    }
+
+    /**
+     * Calculates the intersection of this bitset and the provided bitset.
+     * @param other The other bitset to intersect this bitset with.
+     * @return The intersection of both bitsets.
+     */
+    public AttributeBitSet intersect(final AttributeBitSet other) {
+        if (this.words == null)
+            return new AttributeBitSet(this.numAttributes, this.word & other.word, null);
+        long[] words = new long[this.words.length];
+        for (int i = 0; i < words.length; i++)
+            words[i] = this.words[i] & other.words[i];
+        return new AttributeBitSet(this.numAttributes, 0L, words);
+    }
+
+    /**
+     * Calculates the difference of this bitset and the provided bitset.
+     * @param other The bitset whose attributes should be removed from this bitset.
+     * @return A bitset with all attributes of this bitset that are not contained in the other bitset.
+     */
+    public AttributeBitSet minus(final AttributeBitSet other) {
+        if (this.words == null)
+            return new AttributeBitSet(this.numAttributes, this.word & ~other.word, null);
+        long[] words = new long[this.words.length];
+        for (int i = 0; i < words.length; i++)
+            words[i] = this.words[i] & ~other.words[i];
+        return new AttributeBitSet(this.numAttributes, 0L, words);
+    }
+
+    /**
+     * Calculates the complement of this bitset with respect to all attributes of the schema.
+     * @return A bitset with all attributes of the schema that are not contained in this bitset.
+     */
+    public AttributeBitSet complement() {
+        return full(this.numAttributes).minus(this);
+    }
+
+    /**
+     * Checks weather this bitset is a superset of the provided bitset; like AttributeList.supersetOf(), equal sets are
+     * considered supersets of each other.
+     * @param other The other bitset to check the superset relation with.
+     * @return true if this bitset contains all attributes of the other bitset.
+     */
+    public boolean supersetOf(final AttributeBitSet other) {
+        if (this.words == null)
+            return (other.word & ~this.word) == 0L;
+        for (int i = 0; i < this.words.length; i++)
+            if ((other.words[i] & ~this.words[i]) != 0L)
+                return false;
+        return true;
+    }
+
+    /**
+     * Checks weather this bitset is a subset of the provided bitset; equal sets are considered subsets of each other.
+     * @param other The other bitset to check the subset relation with.
+     * @return true if the other bitset contains all attributes of this bitset.
+     */
+    public boolean subsetOf(final AttributeBitSet other) {
+        return other.supersetOf(this);
+    }
+
+    /**
+     * Checks weather this bitset and the provided bitset share at least one attribute.
+     * @param other The other bitset to check the intersection with.
+     * @return true if both bitsets have at least one attribute in common.
+     */
+    public boolean intersects(final AttributeBitSet other) {
+        if (this.words == null)
+            return (this.word & other.word) != 0L;
+        for (int i = 0; i < this.words.length; i++)
+            if ((this.words[i] & other.words[i]) != 0L)
+                return true;
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.toArray());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || this.getClass() != o.getClass())
+            return false;
+        AttributeBitSet that = (AttributeBitSet) o;
+        if (this.words == null)
+            return that.words == null && this.word == that.word;
+        return Arrays.equals(this.words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        if (this.words == null)
+            return Long.hashCode(this.word);
+        return Arrays.hashCode(this.words);
+    }
+}
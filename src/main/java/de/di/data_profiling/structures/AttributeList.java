@@ -1,6 +1,5 @@
 package de.di.data_profiling.structures;
 
-import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntArraySet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import lombok.AllArgsConstructor;
@@ -49,34 +48,46 @@ public class AttributeList {
      * @return The union of both attribute lists with ordered attribute indices.
      */
     public AttributeList union(AttributeList other) {
-        int[] attributes1 = this.attributes.clone();
-        int[] attributes2 = other.getAttributes().clone();
-        Arrays.sort(attributes1);
-        Arrays.sort(attributes2);
+        int[] attributes1 = isSorted(this.attributes) ? this.attributes : sorted(this.attributes);
+        int[] attributes2 = isSorted(other.getAttributes()) ? other.getAttributes() : sorted(other.getAttributes());
 
-        IntArrayList attributesUnion = new IntArrayList(attributes1.length + 1);
+        int[] attributesUnion = new int[attributes1.length + attributes2.length];
+        int size = 0;
         int i = 0;
         int j = 0;
         while (i < attributes1.length || j < attributes2.length) {
             if (i >= attributes1.length) {
-                attributesUnion.add(attributes2[j]);
+                attributesUnion[size++] = attributes2[j];
                 j++;
             } else if (j >= attributes2.length) {
-                attributesUnion.add(attributes1[i]);
+                attributesUnion[size++] = attributes1[i];
                 i++;
             } else if (attributes1[i] == attributes2[j]) {
-                attributesUnion.add(attributes1[i]);
+                attributesUnion[size++] = attributes1[i];
                 i++;
                 j++;
             } else if (attributes1[i] < attributes2[j]) {
-                attributesUnion.add(attributes1[i]);
+                attributesUnion[size++] = attributes1[i];
                 i++;
             } else {
-                attributesUnion.add(attributes2[j]);
+                attributesUnion[size++] = attributes2[j];
                 j++;
             }
         }
-        return new AttributeList(attributesUnion.toArray(new int[0]));
+        return new AttributeList((size == attributesUnion.length) ? attributesUnion : Arrays.copyOf(attributesUnion, size));
+    }
+
+    private static boolean isSorted(int[] attributes) {
+        for (int i = 1; i < attributes.length; i++)
+            if (attributes[i - 1] > attributes[i])
+                return false;
+        return true;
+    }
+
+    private static int[] sorted(int[] attributes) {
+        int[] sortedAttributes = attributes.clone();
+        Arrays.sort(sortedAttributes);
+        return sortedAttributes;
     }
 
     /**
@@ -137,9 +148,19 @@ public class AttributeList {
      * @return true if this attribute lists is a true superset of the other attribute list.
      */
     public boolean supersetOf(AttributeList other) {
-        IntSet attributeSet1 = new IntArraySet(this.attributes);
-        IntSet attributeSet2 = new IntArraySet(other.getAttributes());
-        return attributeSet1.containsAll(attributeSet2);
+        // Attribute lists are short, so a nested scan is cheaper than materializing two sets
+        for (int otherAttribute : other.getAttributes()) {
+            boolean contained = false;
+            for (int attribute : this.attributes) {
+                if (attribute == otherAttribute) {
+                    contained = true;
+                    break;
+                }
+            }
+            if (!contained)
+                return false;
+        }
+        return true;
     }
 
     /**
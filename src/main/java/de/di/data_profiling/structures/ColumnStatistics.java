@@ -0,0 +1,237 @@
+package de.di.data_profiling.structures;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.stream.IntStream;
+import java.util.regex.Pattern;
+
+/**
+ * ColumnStatistics summarize the values of a column in a single streaming pass: the number of values and of null or
+ * empty values, the minimum and maximum value, whether all non-empty values are numeric, a histogram of the value
+ * lengths, a HyperLogLog sketch of the distinct values, a SpaceSaving sketch of the most frequent values, and a Bloom
+ * filter over the value fingerprints. Partial statistics of disjoint parts of a column can be merged, so large columns
+ * are summarized in parallel chunks.
+ * The Bloom filter is built with the maximum size and then compacted to about eight bits per estimated distinct value,
+ * so that it does not saturate for large columns and stays small for small ones. Its size is a power of two and a bit
+ * is addressed by the fingerprint modulo the size, so a filter can be folded to any smaller size by OR-ing its words;
+ * filters of different sizes are compared after folding the larger one to the size of the smaller one. Hence, the
+ * filter refutes inclusions mainly between columns of similar sizes; a small column is compared at its own resolution.
+ * Some of these statistics are necessary conditions for inclusion: if a column A is included in a column B, then the
+ * value range of A lies within the range of B, A cannot contain text if B is purely numeric, and every bit of the Bloom
+ * filter of A is also set in the Bloom filter of B.
+ */
+@Getter
+public class ColumnStatistics {
+
+    public enum Type {
+        NUMERIC, TEXT
+    }
+
+    private static final Pattern NUMBER = Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+
+    // The Bloom filter sets two bits per value and is compacted to this many bits per distinct value, but to at least
+    // 1024 bits and at most 2^16 bits, i.e., 8 KB per column; beyond 8192 distinct values, its false positive rate
+    // slowly rises again
+    private static final int BLOOM_FILTER_BITS_PER_VALUE = 8;
+    private static final int MIN_BLOOM_FILTER_WORDS = 1 << 4;
+    private static final int MAX_BLOOM_FILTER_WORDS = 1 << 10;
+
+    private static final int HYPER_LOG_LOG_PRECISION = 12;
+    private static final int NUM_FREQUENT_VALUES = 16;
+
+    // Columns with more values than this are summarized in parallel chunks
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private long numValues = 0;
+    private long numNullOrEmpty = 0;
+    private String min = null;
+    private String max = null;
+    private Type type = Type.NUMERIC;
+
+    // The number of values with length 0, 1, 2-3, 4-7, 8-15, ..., i.e., bucket i holds lengths in [2^(i-1), 2^i)
+    private final long[] lengthHistogram = new long[32];
+
+    private long[] bloomFilter = new long[MAX_BLOOM_FILTER_WORDS];
+
+    private final HyperLogLog distinctValues = new HyperLogLog(HYPER_LOG_LOG_PRECISION);
+
+    private final SpaceSaving frequentValues = new SpaceSaving(NUM_FREQUENT_VALUES);
+
+    /**
+     * Calculates the statistics of a column; columns with many values are split into chunks whose partial statistics
+     * are calculated in parallel and merged.
+     * @param values The values of the column.
+     * @return The statistics of the column.
+     */
+    public static ColumnStatistics of(final String[] values) {
+        ColumnStatistics statistics;
+        if (values.length <= CHUNK_SIZE) {
+            statistics = of(values, 0, values.length);
+        } else {
+            int numChunks = (values.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            statistics = IntStream.range(0, numChunks).parallel()
+                    .mapToObj(chunk -> of(values, chunk * CHUNK_SIZE, Math.min(values.length, (chunk + 1) * CHUNK_SIZE)))
+                    .reduce(ColumnStatistics::merge)
+                    .orElseGet(ColumnStatistics::new);
+        }
+        statistics.compactBloomFilter();
+        return statistics;
+    }
+
+    private static ColumnStatistics of(final String[] values, int from, int to) {
+        ColumnStatistics statistics = new ColumnStatistics();
+        for (int i = from; i < to; i++)
+            statistics.add(values[i]);
+        return statistics;
+    }
+
+    /**
+     * Adds a value of the column to the statistics.
+     * @param value The value to add; null counts as empty value.
+     */
+    public void add(String value) {
+        if (value == null)
+            value = "";
+
+        this.numValues++;
+        if (value.isEmpty())
+            this.numNullOrEmpty++;
+        if (this.min == null || value.compareTo(this.min) < 0)
+            this.min = value;
+        if (this.max == null || value.compareTo(this.max) > 0)
+            this.max = value;
+        if (this.type == Type.NUMERIC && !value.isEmpty() && !NUMBER.matcher(value).matches())
+            this.type = Type.TEXT;
+        this.lengthHistogram[32 - Integer.numberOfLeadingZeros(value.length())]++;
+
+        long fingerprint = FingerprintSet.fingerprint(value);
+        this.setBit((int) fingerprint);
+        this.setBit((int) (fingerprint >>> 32));
+        this.distinctValues.add(fingerprint);
+        this.frequentValues.add(value);
+    }
+
+    /**
+     * Merges the statistics of another, disjoint part of the same column into these statistics.
+     * @param other The statistics to merge.
+     * @return These statistics.
+     */
+    public ColumnStatistics merge(ColumnStatistics other) {
+        this.numValues += other.getNumValues();
+        this.numNullOrEmpty += other.getNumNullOrEmpty();
+        if (other.getMin() != null && (this.min == null || other.getMin().compareTo(this.min) < 0))
+            this.min = other.getMin();
+        if (other.getMax() != null && (this.max == null || other.getMax().compareTo(this.max) > 0))
+            this.max = other.getMax();
+        if (other.getType() == Type.TEXT)
+            this.type = Type.TEXT;
+        for (int i = 0; i < this.lengthHistogram.length; i++)
+            this.lengthHistogram[i] += other.getLengthHistogram()[i];
+        int numWords = Math.min(this.bloomFilter.length, other.getBloomFilter().length);
+        long[] bloomFilter = new long[numWords];
+        for (int i = 0; i < numWords; i++)
+            bloomFilter[i] = foldedWord(this.bloomFilter, numWords, i) | foldedWord(other.getBloomFilter(), numWords, i);
+        this.bloomFilter = bloomFilter;
+        this.distinctValues.merge(other.getDistinctValues());
+        this.frequentValues.merge(other.getFrequentValues());
+        return this;
+    }
+
+    private void setBit(int bit) {
+        bit &= this.bloomFilter.length * 64 - 1;
+        this.bloomFilter[bit >>> 6] |= 1L << bit;
+    }
+
+    /**
+     * Folds the Bloom filter to the smallest power of two number of words that holds the configured number of bits per
+     * estimated distinct value. The filter never grows again, so values that are added afterwards fill the smaller one.
+     */
+    void compactBloomFilter() {
+        long numBits = Math.max(MIN_BLOOM_FILTER_WORDS * 64, this.estimatedDistinctValues() * BLOOM_FILTER_BITS_PER_VALUE);
+        int numWords = (int) Math.min(this.bloomFilter.length, Long.highestOneBit(numBits - 1) * 2 / 64);
+        if (numWords == this.bloomFilter.length)
+            return;
+        long[] bloomFilter = new long[numWords];
+        for (int i = 0; i < numWords; i++)
+            bloomFilter[i] = foldedWord(this.bloomFilter, numWords, i);
+        this.bloomFilter = bloomFilter;
+    }
+
+    /**
+     * Returns a word of the provided Bloom filter folded to the provided, smaller or equal power of two number of words.
+     */
+    private static long foldedWord(long[] bloomFilter, int numWords, int word) {
+        long folded = 0;
+        for (int i = word; i < bloomFilter.length; i += numWords)
+            folded |= bloomFilter[i];
+        return folded;
+    }
+
+    public boolean isEmpty() {
+        return this.numValues == 0;
+    }
+
+    /**
+     * Returns the HyperLogLog estimate of the number of distinct values.
+     * @return The estimated number of distinct values.
+     */
+    public long estimatedDistinctValues() {
+        return this.distinctValues.estimate();
+    }
+
+    /**
+     * Returns the most frequent values with their estimated counts.
+     * @return The most frequent values, ordered by descending count.
+     */
+    public LinkedHashMap<String, Long> mostFrequentValues() {
+        return this.frequentValues.getFrequentValues();
+    }
+
+    /**
+     * Checks whether the value range of this column lies within the value range of the other column.
+     * @param other The statistics of the potentially including column.
+     * @return true if this column is empty or its minimum and maximum lie within the other column's range.
+     */
+    public boolean rangeWithin(ColumnStatistics other) {
+        if (this.isEmpty())
+            return true;
+        if (other.isEmpty())
+            return false;
+        return this.min.compareTo(other.getMin()) >= 0 && this.max.compareTo(other.getMax()) <= 0;
+    }
+
+    /**
+     * Checks whether every bit of this column's Bloom filter is also set in the other column's Bloom filter, both folded
+     * to the size of the smaller one.
+     * @param other The statistics of the potentially including column.
+     * @return false if some value of this column is definitely not in the other column.
+     */
+    public boolean bloomFilterWithin(ColumnStatistics other) {
+        long[] otherBloomFilter = other.getBloomFilter();
+        int numWords = Math.min(this.bloomFilter.length, otherBloomFilter.length);
+        for (int i = 0; i < numWords; i++)
+            if ((foldedWord(this.bloomFilter, numWords, i) & ~foldedWord(otherBloomFilter, numWords, i)) != 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Checks whether this and the other column may have a value in common: columns without common values are detected
+     * if one of them is empty, if their value ranges are disjoint, or if their Bloom filters share no bit.
+     * @param other The statistics of the other column.
+     * @return false if the two columns definitely have no value in common.
+     */
+    public boolean mayShareValuesWith(ColumnStatistics other) {
+        if (this.isEmpty() || other.isEmpty())
+            return false;
+        if (this.max.compareTo(other.getMin()) < 0 || other.getMax().compareTo(this.min) < 0)
+            return false;
+        long[] otherBloomFilter = other.getBloomFilter();
+        int numWords = Math.min(this.bloomFilter.length, otherBloomFilter.length);
+        for (int i = 0; i < numWords; i++)
+            if ((foldedWord(this.bloomFilter, numWords, i) & foldedWord(otherBloomFilter, numWords, i)) != 0)
+                return true;
+        return false;
+    }
+}
@@ -0,0 +1,51 @@
+package de.di.data_profiling.structures;
+
+import de.di.Relation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An FD is a representation of a functional dependency with a left-hand-side (lhs) AttributeList and a single
+ * right-hand-side (rhs) attribute of a certain Relation. An FD lhs -> rhs states that all records that agree on the lhs
+ * attributes also agree on the rhs attribute. Like UCCs, FDs are based on set semantics for their lhs.
+ */
+@Getter
+@AllArgsConstructor
+public class FD {
+
+    private final Relation relation;
+    private final AttributeList lhsAttributes;
+    private final int rhsAttribute;
+
+    @Override
+    public String toString() {
+        return "FD(" + this.relation.getName() + this.lhsAttributes + " -> " + this.rhsAttribute + ")";
+    }
+
+    public String toNaturalString() {
+        String[] lhsAttributeLabels = new String[this.lhsAttributes.size()];
+        for (int i = 0; i < this.lhsAttributes.size(); i++)
+            lhsAttributeLabels[i] = this.relation.getAttributes()[this.lhsAttributes.getAttributes()[i]];
+        return "FD(" + this.relation.getName() + Arrays.toString(lhsAttributeLabels) + " -> " + this.relation.getAttributes()[this.rhsAttribute] + ")";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || this.getClass() != o.getClass())
+            return false;
+        FD fd = (FD) o;
+        return this.rhsAttribute == fd.getRhsAttribute() &&
+                Objects.equals(this.getRelation(), fd.getRelation()) &&
+                Objects.equals(this.getLhsAttributes().getAttributeSet(), fd.getLhsAttributes().getAttributeSet());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.relation.getName(), this.getLhsAttributes().getAttributeSet(), this.rhsAttribute);
+    }
+}
@@ -0,0 +1,78 @@
+package de.di.data_profiling.structures;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * A FingerprintSet stores the distinct values of a column as a sorted array of primitive 64-bit fingerprints. It needs
+ * 8 bytes per distinct value and tests set inclusion with a single merge scan. Because different values may still
+ * share a fingerprint, a positive containsAll() is only a strong hint that needs exact verification.
+ */
+@Getter
+public class FingerprintSet {
+
+    private final long[] fingerprints;
+
+    public FingerprintSet(final String[] values) {
+        long[] fingerprints = new long[values.length];
+        for (int i = 0; i < values.length; i++)
+            fingerprints[i] = fingerprint(values[i]);
+        Arrays.sort(fingerprints);
+
+        int numDistinct = 0;
+        for (int i = 0; i < fingerprints.length; i++)
+            if (i == 0 || fingerprints[i] != fingerprints[i - 1])
+                fingerprints[numDistinct++] = fingerprints[i];
+        this.fingerprints = Arrays.copyOf(fingerprints, numDistinct);
+    }
+
+    /**
+     * Returns the number of distinct fingerprints in this set.
+     * @return the number of distinct fingerprints in this set.
+     */
+    public int size() {
+        return this.fingerprints.length;
+    }
+
+    /**
+     * Checks whether this set contains all fingerprints of the other set with one merge scan over both sorted arrays.
+     * @param other The set whose fingerprints should be contained in this set.
+     * @return true if every fingerprint of the other set is also in this set.
+     */
+    public boolean containsAll(FingerprintSet other) {
+        long[] otherFingerprints = other.getFingerprints();
+        if (otherFingerprints.length > this.fingerprints.length)
+            return false;
+
+        int i = 0;
+        for (long otherFingerprint : otherFingerprints) {
+            while (i < this.fingerprints.length && this.fingerprints[i] < otherFingerprint)
+                i++;
+            if (i == this.fingerprints.length || this.fingerprints[i] != otherFingerprint)
+                return false;
+            i++;
+        }
+        return true;
+    }
+
+    /**
+     * Calculates a 64-bit fingerprint of the provided value: an FNV-1a hash over its characters that is finalized
+     * with the MurmurHash3 bit mixer to spread the bits of short values over the whole word.
+     * @param value The value to fingerprint.
+     * @return The fingerprint of the value.
+     */
+    public static long fingerprint(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,65 @@
+package de.di.data_profiling.structures;
+
+import lombok.Getter;
+
+/**
+ * A HyperLogLog sketch estimates the number of distinct values of a stream in a fixed amount of memory: 2^precision
+ * one-byte registers, each holding the maximum rank of the first set bit among the hashes that map to it. Two sketches
+ * of the same precision merge by taking the maximum of each register, which equals the sketch of both streams.
+ */
+public class HyperLogLog {
+
+    @Getter
+    private final int precision;
+
+    private final byte[] registers;
+
+    public HyperLogLog(final int precision) {
+        assert (precision >= 4 && precision <= 18);
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Adds a value to the sketch.
+     * @param hash A well-mixed 64-bit hash of the value, e.g., its FingerprintSet.fingerprint().
+     */
+    public void add(long hash) {
+        int index = (int) (hash >>> (64 - this.precision));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << this.precision), 64 - this.precision) + 1;
+        if (rank > this.registers[index])
+            this.registers[index] = (byte) rank;
+    }
+
+    /**
+     * Merges the other sketch into this sketch.
+     * @param other A sketch with the same precision.
+     */
+    public void merge(HyperLogLog other) {
+        assert (other.getPrecision() == this.precision);
+        for (int i = 0; i < this.registers.length; i++)
+            if (other.registers[i] > this.registers[i])
+                this.registers[i] = other.registers[i];
+    }
+
+    /**
+     * Estimates the number of distinct values that have been added, using linear counting for small cardinalities.
+     * @return The estimated number of distinct values.
+     */
+    public long estimate() {
+        int m = this.registers.length;
+        double sum = 0;
+        int numZeroRegisters = 0;
+        for (byte register : this.registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0)
+                numZeroRegisters++;
+        }
+
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && numZeroRegisters > 0)
+            estimate = m * Math.log((double) m / numZeroRegisters);
+        return Math.round(estimate);
+    }
+}
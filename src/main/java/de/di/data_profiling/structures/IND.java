@@ -33,6 +33,22 @@ public class IND {
         this.rhsAttributes = rhsAttributes;
     }
 
+    /**
+     * Returns the lhs attributes of this IND as bitset over the lhs relation's schema.
+     * @return the lhs attributes of this IND as bitset.
+     */
+    public AttributeBitSet getLhsAttributeBitSet() {
+        return AttributeBitSet.of(this.lhsRelation.getAttributes().length, this.lhsAttributes);
+    }
+
+    /**
+     * Returns the rhs attributes of this IND as bitset over the rhs relation's schema.
+     * @return the rhs attributes of this IND as bitset.
+     */
+    public AttributeBitSet getRhsAttributeBitSet() {
+        return AttributeBitSet.of(this.rhsRelation.getAttributes().length, this.rhsAttributes);
+    }
+
     @Override
     public String toString() {
         return "IND(" + this.lhsRelation.getName() + this.lhsAttributes + ", " + this.rhsRelation.getName() + this.rhsAttributes + ")";
@@ -0,0 +1,142 @@
+package de.di.data_profiling.structures;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.*;
+
+/**
+ * An LSHEnsemble indexes the MinHash signatures of sets such that a query finds all sets that probably contain at
+ * least a given fraction of the query set. The sets are split into partitions of similar size; for a query of size q,
+ * a partition with maximum size u translates the containment threshold t into the Jaccard threshold
+ * t * q / (q + u - t * q), which the partition answers with banded MinHash LSH. The band layout, i.e., the number of
+ * rows per band, is chosen per query such that a set at exactly that Jaccard threshold is still found with the target
+ * recall. If not even single-row bands reach that recall, e.g., for a small query against very large sets, the query
+ * falls back to all sets of the partition.
+ */
+public class LSHEnsemble {
+
+    // The minimum probability with which a set at the Jaccard threshold of a query must become a candidate
+    private static final double TARGET_RECALL = 0.95;
+
+    private final int numHashFunctions;
+
+    // The ids of the indexed sets, grouped into partitions of ascending set size
+    private final List<int[]> partitions = new ArrayList<>();
+    private final List<Integer> partitionUpperBounds = new ArrayList<>();
+
+    private final List<long[]> signatures;
+
+    // The band tables of every partition, built lazily for each number of rows per band
+    private final List<Map<Integer, List<Long2ObjectOpenHashMap<IntArrayList>>>> bandTables = new ArrayList<>();
+
+    /**
+     * Builds the index over the provided signatures.
+     * @param signatures The MinHash signatures of all sets, indexed by set id; all must have the same length.
+     * @param sizes The number of distinct values of all sets.
+     * @param numPartitions The number of equi-depth size partitions.
+     */
+    public LSHEnsemble(final List<long[]> signatures, final int[] sizes, final int numPartitions) {
+        this.signatures = signatures;
+        this.numHashFunctions = signatures.isEmpty() ? 0 : signatures.get(0).length;
+
+        Integer[] ids = new Integer[sizes.length];
+        for (int i = 0; i < ids.length; i++)
+            ids[i] = i;
+        Arrays.sort(ids, Comparator.comparingInt(id -> sizes[id]));
+
+        int partitionSize = Math.max(1, (ids.length + numPartitions - 1) / numPartitions);
+        for (int from = 0; from < ids.length; from += partitionSize) {
+            int to = Math.min(ids.length, from + partitionSize);
+            int[] partition = new int[to - from];
+            for (int i = from; i < to; i++)
+                partition[i - from] = ids[i];
+            this.partitions.add(partition);
+            this.partitionUpperBounds.add(sizes[ids[to - 1]]);
+            this.bandTables.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Finds the ids of all indexed sets that probably contain at least the given share of the query set.
+     * @param signature The MinHash signature of the query set.
+     * @param size The number of distinct values of the query set.
+     * @param containmentThreshold The minimum containment of the query set in the result sets.
+     * @return The candidate set ids, which may include false positives.
+     */
+    public IntSet query(long[] signature, int size, double containmentThreshold) {
+        IntSet candidates = new IntOpenHashSet();
+        for (int p = 0; p < this.partitions.size(); p++) {
+            // A set smaller than t * q cannot contain t * q values of the query
+            int upperBound = this.partitionUpperBounds.get(p);
+            if (upperBound < containmentThreshold * size)
+                continue;
+
+            double jaccardThreshold = containmentThreshold * size / (size + upperBound - containmentThreshold * size);
+            int rows = this.rowsPerBand(jaccardThreshold);
+            int[] partition = this.partitions.get(p);
+            if (rows == 0) {
+                candidates.addAll(IntArrayList.wrap(partition));
+                continue;
+            }
+            List<Long2ObjectOpenHashMap<IntArrayList>> tables = this.bandTables.get(p).computeIfAbsent(rows, r -> this.buildBandTables(partition, r));
+            for (int band = 0; band < tables.size(); band++) {
+                IntArrayList bucket = tables.get(band).get(bandKey(signature, band, rows));
+                if (bucket != null)
+                    candidates.addAll(bucket);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Chooses the largest number of rows per band r for which a set with the provided Jaccard similarity J collides with
+     * the query in at least one of the b = k / r bands with the target recall, i.e., 1 - (1 - J ^ r) ^ b >= recall; more
+     * rows per band mean fewer false positives.
+     * @return The number of rows per band or 0 if not even single-row bands reach the target recall.
+     */
+    private int rowsPerBand(double jaccardThreshold) {
+        int rows = 0;
+        for (int r = 1; r <= this.numHashFunctions; r++) {
+            int bands = this.numHashFunctions / r;
+            if (1 - Math.pow(1 - Math.pow(jaccardThreshold, r), bands) >= TARGET_RECALL)
+                rows = r;
+        }
+        return rows;
+    }
+
+    private List<Long2ObjectOpenHashMap<IntArrayList>> buildBandTables(int[] partition, int rows) {
+        int numBands = this.numHashFunctions / rows;
+        List<Long2ObjectOpenHashMap<IntArrayList>> tables = new ArrayList<>(numBands);
+        for (int band = 0; band < numBands; band++) {
+            Long2ObjectOpenHashMap<IntArrayList> table = new Long2ObjectOpenHashMap<>();
+            for (int id : partition)
+                table.computeIfAbsent(bandKey(this.signatures.get(id), band, rows), k -> new IntArrayList()).add(id);
+            tables.add(table);
+        }
+        return tables;
+    }
+
+    private static long bandKey(long[] signature, int band, int rows) {
+        long key = 0xcbf29ce484222325L;
+        for (int i = band * rows; i < (band + 1) * rows; i++)
+            key = (key ^ signature[i]) * 0x100000001b3L;
+        return key;
+    }
+
+    /**
+     * Estimates the containment of the first set in the second set from their MinHash signatures and sizes: the share
+     * of equal signature positions estimates their Jaccard similarity J, and |A ∩ B| / |A| = J * (|A| + |B|) / ((1 + J) * |A|).
+     * @return The estimated containment, at most 1.
+     */
+    public static double estimateContainment(long[] signature1, int size1, long[] signature2, int size2) {
+        int numEqual = 0;
+        for (int i = 0; i < signature1.length; i++)
+            if (signature1[i] == signature2[i])
+                numEqual++;
+        double jaccard = (double) numEqual / signature1.length;
+        return Math.min(1.0, jaccard * (size1 + size2) / ((1 + jaccard) * size1));
+    }
+}
@@ -0,0 +1,23 @@
+package de.di.data_profiling.structures;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A PartialIND is a unary inclusion dependency that holds for a share of the dependent values only. Its containment is
+ * the fraction of the distinct lhs values that also occur in the rhs; it is exact if the PartialIND has been verified
+ * and a sketch-based estimate otherwise.
+ */
+@Getter
+@AllArgsConstructor
+public class PartialIND {
+
+    private final IND ind;
+    private final double containment;
+    private final boolean verified;
+
+    @Override
+    public String toString() {
+        return this.ind + String.format(" %s %.3f", this.verified ? "=" : "~", this.containment);
+    }
+}
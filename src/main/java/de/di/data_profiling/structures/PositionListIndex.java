@@ -4,10 +4,12 @@ import de.di.Relation;
 import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import lombok.Getter;
 
+import java.nio.IntBuffer;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Getter
 public class PositionListIndex {
@@ -17,9 +19,48 @@ public class PositionListIndex {
     private final int[] invertedClusters;
 
     public PositionListIndex(final AttributeList attributes, final String[] values) {
+        // A column of n records has at most n distinct codes
+        this(attributes, dictionaryEncode(values), values.length);
+    }
+
+    /**
+     * Creates the PLI of a dictionary-encoded column with a counting sort: one pass counts the records per code and
+     * a second pass scatters the record ids into pre-sized clusters, so no hashing is needed at all. The clusters are
+     * ordered by code, and the record ids within each cluster are ascending.
+     * @param attributes The attributes of the PLI.
+     * @param codes The dictionary codes of the column, i.e., one value in [0, numCodes) per record.
+     * @param numCodes The number of codes, or any upper bound of it.
+     */
+    public PositionListIndex(final AttributeList attributes, final int[] codes, final int numCodes) {
         this.attributes = attributes;
-        this.clusters = this.calculateClusters(values);
-        this.invertedClusters = this.calculateInverted(this.clusters, values.length);
+        this.invertedClusters = new int[codes.length];
+
+        int[] counts = new int[numCodes];
+        for (int code : codes)
+            counts[code]++;
+
+        // Only codes that occur more than once form a cluster
+        int[] clusterOfCode = new int[numCodes];
+        int numClusters = 0;
+        for (int code = 0; code < numCodes; code++)
+            clusterOfCode[code] = (counts[code] > 1) ? numClusters++ : -1;
+
+        int[][] clusterArrays = new int[numClusters][];
+        for (int code = 0; code < numCodes; code++)
+            if (clusterOfCode[code] >= 0)
+                clusterArrays[clusterOfCode[code]] = new int[counts[code]];
+
+        int[] fill = new int[numClusters];
+        for (int recordIndex = 0; recordIndex < codes.length; recordIndex++) {
+            int clusterIndex = clusterOfCode[codes[recordIndex]];
+            this.invertedClusters[recordIndex] = clusterIndex;
+            if (clusterIndex >= 0)
+                clusterArrays[clusterIndex][fill[clusterIndex]++] = recordIndex;
+        }
+
+        this.clusters = new ArrayList<>(numClusters);
+        for (int clusterIndex = 0; clusterIndex < numClusters; clusterIndex++)
+            this.clusters.add(IntArrayList.wrap(clusterArrays[clusterIndex]));
     }
 
     public PositionListIndex(final AttributeList attributes, final List<IntArrayList> clusters, int relationLength) {
@@ -28,13 +69,32 @@ public class PositionListIndex {
         this.invertedClusters = this.calculateInverted(this.clusters, relationLength);
     }
 
-    private List<IntArrayList> calculateClusters(final String[] values) {
-        Map<String, IntArrayList> invertedIndex = new HashMap<>(values.length);
+    /**
+     * Replaces the values of a column by dense dictionary codes in the order of their first occurrence.
+     * @param values The values of the column.
+     * @return The codes of all records.
+     */
+    public static int[] dictionaryEncode(final String[] values) {
+        Object2IntOpenHashMap<String> dictionary = new Object2IntOpenHashMap<>();
+        dictionary.defaultReturnValue(-1);
+        int[] codes = new int[values.length];
         for (int recordIndex = 0; recordIndex < values.length; recordIndex++) {
-            invertedIndex.putIfAbsent(values[recordIndex], new IntArrayList());
-            invertedIndex.get(values[recordIndex]).add(recordIndex);
+            int code = dictionary.putIfAbsent(values[recordIndex], dictionary.size());
+            codes[recordIndex] = (code == -1) ? dictionary.size() - 1 : code;
         }
-        return invertedIndex.values().stream().filter(cluster -> cluster.size() > 1).collect(Collectors.toList());
+        return codes;
+    }
+
+    /**
+     * Builds the PLIs of all columns of a relation in parallel, one column per task.
+     * @param columns The columns of the relation.
+     * @return The PLIs of all single attributes, indexed by attribute.
+     */
+    public static PositionListIndex[] buildAll(final String[][] columns) {
+        PositionListIndex[] plis = new PositionListIndex[columns.length];
+        IntStream.range(0, columns.length).parallel()
+                .forEach(attribute -> plis[attribute] = new PositionListIndex(new AttributeList(attribute), columns[attribute]));
+        return plis;
     }
 
     private int[] calculateInverted(List<IntArrayList> clusters, int relationLength) {
@@ -52,10 +112,138 @@ public class PositionListIndex {
         return this.clusters.isEmpty();
     }
 
+    /**
+     * Calculates the partition error of this PLI, i.e., the minimum number of records that need to be removed to make
+     * the attributes of this PLI unique. Two attribute sets X and XA have the same partition error iff X -> A holds.
+     * @return The number of records in all clusters minus the number of clusters.
+     */
+    public int partitionError() {
+        int numClusteredRecords = 0;
+        for (IntArrayList cluster : this.clusters)
+            numClusteredRecords += cluster.size();
+        return numClusteredRecords - this.clusters.size();
+    }
+
+    /**
+     * Counts the distinct values of the attributes of this PLI, i.e., its clusters plus all records that are unique.
+     * @return The number of distinct values.
+     */
+    public int numDistinctValues() {
+        int numClusteredRecords = 0;
+        for (IntArrayList cluster : this.clusters)
+            numClusteredRecords += cluster.size();
+        return this.relationLength() - numClusteredRecords + this.clusters.size();
+    }
+
+    /**
+     * Checks whether this and the other PLI partition the records in the same way, i.e., whether their attributes
+     * functionally determine each other. Both PLIs must have the same number of clusters and clustered records, and
+     * every cluster of this PLI must fall into a single cluster of the other PLI.
+     * @param other The PLI to compare with.
+     * @return true if both PLIs describe the same partition.
+     */
+    public boolean hasSamePartitionAs(PositionListIndex other) {
+        if (this.clusters.size() != other.getClusters().size() || this.partitionError() != other.partitionError())
+            return false;
+        int[] otherInvertedClusters = other.getInvertedClusters();
+        for (IntArrayList cluster : this.clusters) {
+            int otherClusterIndex = otherInvertedClusters[cluster.getInt(0)];
+            if (otherClusterIndex == -1)
+                return false;
+            for (int i = 1; i < cluster.size(); i++)
+                if (otherInvertedClusters[cluster.getInt(i)] != otherClusterIndex)
+                    return false;
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the number of heap bytes that this PLI occupies, i.e., its inverted clusters, its cluster lists, and the
+     * object headers of these lists.
+     * @return The estimated heap size of this PLI in bytes.
+     */
+    public long estimatedSize() {
+        long size = 16L + 4L * this.invertedClusters.length;
+        for (IntArrayList cluster : this.clusters)
+            size += 40L + 4L * cluster.elements().length;
+        return size;
+    }
+
+    /**
+     * Returns the number of ints that writeTo() needs to serialize this PLI.
+     * @return The serialized length of this PLI in ints.
+     */
+    public int serializedLength() {
+        int length = 2;
+        for (IntArrayList cluster : this.clusters)
+            length += 1 + cluster.size();
+        return length;
+    }
+
+    /**
+     * Writes this PLI in a compact binary format into the provided buffer: the relation length, the number of clusters,
+     * and then each cluster as its size followed by its record ids. The inverted clusters are not written, because they
+     * can be restored from the clusters.
+     * @param buffer The buffer to write this PLI into.
+     */
+    public void writeTo(IntBuffer buffer) {
+        buffer.put(this.relationLength());
+        buffer.put(this.clusters.size());
+        for (IntArrayList cluster : this.clusters) {
+            buffer.put(cluster.size());
+            buffer.put(cluster.elements(), 0, cluster.size());
+        }
+    }
+
+    /**
+     * Reads a PLI that has been written with writeTo() from the provided buffer.
+     * @param attributes The attributes of the PLI.
+     * @param buffer The buffer to read the PLI from.
+     * @return The restored PLI.
+     */
+    public static PositionListIndex readFrom(AttributeList attributes, IntBuffer buffer) {
+        int relationLength = buffer.get();
+        int numClusters = buffer.get();
+        List<IntArrayList> clusters = new ArrayList<>(numClusters);
+        for (int i = 0; i < numClusters; i++) {
+            int[] cluster = new int[buffer.get()];
+            buffer.get(cluster);
+            clusters.add(IntArrayList.wrap(cluster));
+        }
+        return new PositionListIndex(attributes, clusters, relationLength);
+    }
+
     public int relationLength() {
         return this.invertedClusters.length;
     }
 
+    /**
+     * Checks whether the intersection of this and the other PLI would be unique without materializing it: every cluster
+     * of this PLI is probed against the inverted clusters of the other PLI, and the check stops at the first two records
+     * that fall into the same cluster of both PLIs. A stamp per cluster of the other PLI marks the clusters that the
+     * current cluster has already hit, so moving on to the next cluster costs O(1) instead of clearing a set.
+     * @param other The PLI to intersect with.
+     * @return true if the intersection of both PLIs has no clusters.
+     */
+    public boolean isUniqueWith(PositionListIndex other) {
+        int[] otherInvertedClusters = other.getInvertedClusters();
+        // stamps[c] == clusterIndex + 1 iff the current cluster has a record in cluster c of the other PLI
+        int[] stamps = new int[other.getClusters().size()];
+        for (int clusterIndex = 0; clusterIndex < this.clusters.size(); clusterIndex++) {
+            IntArrayList cluster = this.clusters.get(clusterIndex);
+            int stamp = clusterIndex + 1;
+            for (int i = 0; i < cluster.size(); i++) {
+                int otherClusterIndex = otherInvertedClusters[cluster.getInt(i)];
+                if (otherClusterIndex == -1)
+                    continue;
+                if (stamps[otherClusterIndex] == stamp)
+                    return false;
+                stamps[otherClusterIndex] = stamp;
+            }
+        }
+        return true;
+    }
+
     public PositionListIndex intersect(PositionListIndex other) {
         List<IntArrayList> clustersIntersection = this.intersect(this.clusters, other.getInvertedClusters());
         AttributeList attributesUnion = this.attributes.union(other.getAttributes());
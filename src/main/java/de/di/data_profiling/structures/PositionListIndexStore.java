@@ -0,0 +1,150 @@
+package de.di.data_profiling.structures;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A PositionListIndexStore holds PLIs by their attribute lists and keeps their estimated heap size within a budget.
+ * If a new PLI exceeds the budget, the least recently used PLIs are spilled into memory-mapped temporary files in the
+ * compact binary format of PositionListIndex.writeTo() and dropped from the heap. Spilled PLIs are paged back in
+ * when they are requested again, e.g., for an intersection; their files stay on disk, so that dropping them a second
+ * time is free. The store must be closed to delete its temporary files.
+ */
+public class PositionListIndexStore implements AutoCloseable {
+
+    // The maximum number of bytes that the resident PLIs may occupy on the heap
+    @Getter
+    private final long heapBudget;
+
+    // The resident PLIs in least-recently-used order
+    private final LinkedHashMap<AttributeList, PositionListIndex> resident = new LinkedHashMap<>(16, 0.75f, true);
+
+    // The files of all PLIs that have been spilled at least once
+    private final Map<AttributeList, Path> spilled = new HashMap<>();
+
+    @Getter
+    private long residentSize = 0;
+
+    @Getter
+    private int numSpills = 0;
+
+    @Getter
+    private int numLoads = 0;
+
+    private Path spillDirectory;
+
+    public PositionListIndexStore(final long heapBudget) {
+        this.heapBudget = heapBudget;
+    }
+
+    /**
+     * Adds the provided PLI to the store and spills other PLIs if the heap budget is exceeded.
+     * @param pli The PLI to add.
+     */
+    public void put(PositionListIndex pli) {
+        this.remove(pli.getAttributes());
+        this.admit(pli);
+    }
+
+    /**
+     * Returns the PLI for the provided attributes, paging it back in if it has been spilled.
+     * @param attributes The attributes of the requested PLI.
+     * @return The PLI or null if the store does not contain a PLI for these attributes.
+     */
+    public PositionListIndex get(AttributeList attributes) {
+        PositionListIndex pli = this.resident.get(attributes);
+        if (pli != null)
+            return pli;
+
+        Path file = this.spilled.get(attributes);
+        if (file == null)
+            return null;
+
+        pli = this.load(attributes, file);
+        this.admit(pli);
+        return pli;
+    }
+
+    /**
+     * Removes the PLI for the provided attributes from the store and deletes its spill file, if any.
+     * @param attributes The attributes of the PLI to remove.
+     */
+    public void remove(AttributeList attributes) {
+        PositionListIndex pli = this.resident.remove(attributes);
+        if (pli != null)
+            this.residentSize -= pli.estimatedSize();
+
+        Path file = this.spilled.remove(attributes);
+        if (file != null)
+            this.delete(file);
+    }
+
+    private void admit(PositionListIndex pli) {
+        long size = pli.estimatedSize();
+        Iterator<Map.Entry<AttributeList, PositionListIndex>> iterator = this.resident.entrySet().iterator();
+        while (this.residentSize + size > this.heapBudget && iterator.hasNext()) {
+            Map.Entry<AttributeList, PositionListIndex> eldest = iterator.next();
+            if (!this.spilled.containsKey(eldest.getKey()))
+                this.spilled.put(eldest.getKey(), this.spill(eldest.getValue()));
+            this.residentSize -= eldest.getValue().estimatedSize();
+            iterator.remove();
+        }
+        this.resident.put(pli.getAttributes(), pli);
+        this.residentSize += size;
+    }
+
+    private Path spill(PositionListIndex pli) {
+        try {
+            if (this.spillDirectory == null)
+                this.spillDirectory = Files.createTempDirectory("pli-spill");
+            Path file = Files.createTempFile(this.spillDirectory, "pli", ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, 4L * pli.serializedLength());
+                pli.writeTo(buffer.order(ByteOrder.nativeOrder()).asIntBuffer());
+                buffer.force();
+            }
+            this.numSpills++;
+            return file;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private PositionListIndex load(AttributeList attributes, Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            IntBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.nativeOrder()).asIntBuffer();
+            this.numLoads++;
+            return PositionListIndex.readFrom(attributes, buffer);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Path file : this.spilled.values())
+            this.delete(file);
+        this.spilled.clear();
+        this.resident.clear();
+        this.residentSize = 0;
+        if (this.spillDirectory != null)
+            this.delete(this.spillDirectory);
+    }
+}
@@ -0,0 +1,122 @@
+package de.di.data_profiling.structures;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A SpaceSaving sketch tracks the most frequent values of a stream with a fixed number of counters. A value that is
+ * not monitored replaces the value with the smallest counter and inherits that counter as its overestimation error, so
+ * every value with a true frequency above numValues / capacity is guaranteed to be monitored.
+ */
+public class SpaceSaving {
+
+    @Getter
+    private final int capacity;
+
+    // The monitored values with their counts and their maximum overestimation
+    private final Map<String, long[]> counters;
+
+    public SpaceSaving(final int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void add(String value) {
+        this.add(value, 1, 0);
+    }
+
+    private void add(String value, long count, long error) {
+        long[] counter = this.counters.get(value);
+        if (counter != null) {
+            counter[0] += count;
+            counter[1] += error;
+        } else if (this.counters.size() < this.capacity) {
+            this.counters.put(value, new long[]{count, error});
+        } else {
+            String minValue = null;
+            long[] minCounter = null;
+            for (Map.Entry<String, long[]> entry : this.counters.entrySet()) {
+                if (minCounter == null || entry.getValue()[0] < minCounter[0]) {
+                    minValue = entry.getKey();
+                    minCounter = entry.getValue();
+                }
+            }
+            this.counters.remove(minValue);
+            this.counters.put(value, new long[]{minCounter[0] + count, minCounter[0] + error});
+        }
+    }
+
+    /**
+     * Merges the other sketch into this sketch by adding up the counters of both and keeping the largest ones. A value
+     * that is missing from a full sketch may have occurred up to that sketch's smallest count times, so this count is
+     * added to the value's count and error, which keeps the counts overestimates and the error bounds valid.
+     * @param other The sketch to merge into this one.
+     */
+    public void merge(SpaceSaving other) {
+        long thisMinCount = this.minCount();
+        long otherMinCount = other.minCount();
+        for (Map.Entry<String, long[]> entry : this.counters.entrySet()) {
+            if (!other.counters.containsKey(entry.getKey())) {
+                entry.getValue()[0] += otherMinCount;
+                entry.getValue()[1] += otherMinCount;
+            }
+        }
+        for (Map.Entry<String, long[]> entry : other.counters.entrySet()) {
+            long[] counter = this.counters.get(entry.getKey());
+            if (counter == null) {
+                counter = new long[]{thisMinCount, thisMinCount};
+                this.counters.put(entry.getKey(), counter);
+            }
+            counter[0] += entry.getValue()[0];
+            counter[1] += entry.getValue()[1];
+        }
+        if (this.counters.size() > this.capacity) {
+            List<String> smallest = this.sortedValues();
+            for (String value : smallest.subList(this.capacity, smallest.size()))
+                this.counters.remove(value);
+        }
+    }
+
+    // The smallest count of a full sketch, which bounds the count of every value that it does not monitor
+    private long minCount() {
+        if (this.counters.size() < this.capacity)
+            return 0;
+        long minCount = Long.MAX_VALUE;
+        for (long[] counter : this.counters.values())
+            minCount = Math.min(minCount, counter[0]);
+        return minCount;
+    }
+
+    /**
+     * Returns the monitored values with their estimated counts, the most frequent ones first.
+     * @return The estimated frequencies of the monitored values, ordered by descending count and then by value.
+     */
+    public LinkedHashMap<String, Long> getFrequentValues() {
+        LinkedHashMap<String, Long> frequentValues = new LinkedHashMap<>();
+        for (String value : this.sortedValues())
+            frequentValues.put(value, this.counters.get(value)[0]);
+        return frequentValues;
+    }
+
+    /**
+     * Returns the maximum overestimation of the count of a monitored value.
+     * @param value A monitored value.
+     * @return The maximum overestimation or -1 if the value is not monitored.
+     */
+    public long getError(String value) {
+        long[] counter = this.counters.get(value);
+        return (counter == null) ? -1 : counter[1];
+    }
+
+    private List<String> sortedValues() {
+        return this.counters.entrySet().stream()
+                .sorted((entry1, entry2) -> {
+                    int countDiff = Long.compare(entry2.getValue()[0], entry1.getValue()[0]);
+                    return (countDiff != 0) ? countDiff : entry1.getKey().compareTo(entry2.getKey());
+                })
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+}
@@ -24,6 +24,14 @@ public class UCC {
         return "UCC(" + this.relation.getName() + this.attributeList + ")";
     }
 
+    /**
+     * Returns the attributes of this UCC as bitset over the relation's schema.
+     * @return the attributes of this UCC as bitset.
+     */
+    public AttributeBitSet getAttributeBitSet() {
+        return AttributeBitSet.of(this.relation.getAttributes().length, this.attributeList);
+    }
+
     public String toNaturalString() {
         String[] attributeLabels = new String[this.attributeList.size()];
         for (int i = 0; i < this.attributeList.size(); i++)
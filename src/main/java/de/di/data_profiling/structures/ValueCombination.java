@@ -0,0 +1,47 @@
+package de.di.data_profiling.structures;
+
+import java.util.Arrays;
+
+/**
+ * A ValueCombination is the projection of a record onto a list of attributes, which can be hashed and compared
+ * without concatenating the values into a single string.
+ */
+public final class ValueCombination {
+
+    private final String[] values;
+    private final int hash;
+
+    public ValueCombination(String[] record, int[] attributes) {
+        this.values = new String[attributes.length];
+        for (int i = 0; i < attributes.length; i++)
+            this.values[i] = record[attributes[i]];
+        this.hash = Arrays.hashCode(this.values);
+    }
+
+    /**
+     * Creates the value combination of the provided columns at the provided record position.
+     * @param columns The columns that should be combined.
+     * @param record The position of the record in these columns.
+     */
+    public ValueCombination(String[][] columns, int record) {
+        this.values = new String[columns.length];
+        for (int i = 0; i < columns.length; i++)
+            this.values[i] = columns[i][record];
+        this.hash = Arrays.hashCode(this.values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || this.getClass() != o.getClass())
+            return false;
+        ValueCombination that = (ValueCombination) o;
+        return this.hash == that.hash && Arrays.equals(this.values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+}
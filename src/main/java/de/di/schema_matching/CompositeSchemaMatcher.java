@@ -0,0 +1,159 @@
+package de.di.schema_matching;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.ColumnStatistics;
+import de.di.schema_matching.structures.ColumnProfile;
+import de.di.schema_matching.structures.SimilarityMatrix;
+import de.di.similarity_measures.Jaccard;
+import de.di.similarity_measures.Levenshtein;
+import de.di.similarity_measures.helper.Tokenizer;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import lombok.Getter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The CompositeSchemaMatcher is a first-line matcher that combines three stages of increasing cost into one weighted
+ * similarity per column pair: the similarity of the attribute names, the similarity of the column statistics, and the
+ * Jaccard similarity of the column values. The stages run in this order and share one profile per column. A pair is
+ * decided early, i.e., its remaining stages are skipped, if it cannot reach the minimum similarity anymore even with
+ * perfect scores in these stages; the instance stage is also skipped if the statistics prove that the two columns
+ * have no value in common, because their Jaccard similarity is then 0.
+ */
+public class CompositeSchemaMatcher {
+
+    public enum Stage {
+        NAME, STATISTICS, INSTANCE
+    }
+
+    // The weight of each stage in the combined similarity
+    private final Map<Stage, Double> weights = new EnumMap<>(Stage.class);
+
+    // Pairs whose combined similarity cannot reach this value are decided before the more expensive stages run
+    private final double minSimilarity;
+
+    // The number of column pairs that each stage evaluated in the last matching
+    @Getter
+    private final Map<Stage, Integer> numEvaluatedPairs = new EnumMap<>(Stage.class);
+
+    private final Levenshtein levenshtein = new Levenshtein(false);
+    private final Jaccard nameJaccard = new Jaccard(new Tokenizer(3, true), false);
+
+    public CompositeSchemaMatcher() {
+        this(0.2, 0.2, 0.6, 0.75);
+    }
+
+    public CompositeSchemaMatcher(final double nameWeight, final double statisticsWeight, final double instanceWeight, final double minSimilarity) {
+        this.weights.put(Stage.NAME, nameWeight);
+        this.weights.put(Stage.STATISTICS, statisticsWeight);
+        this.weights.put(Stage.INSTANCE, instanceWeight);
+        this.minSimilarity = minSimilarity;
+    }
+
+    /**
+     * Matches the attributes of the source and target table and produces a similarity matrix that represents
+     * the attribute-to-attribute similarities of the two relations.
+     * @param sourceRelation The first relation for the matching that determines the first dimension of the similarity matrix.
+     * @param targetRelation The second relation for the matching that determines the second dimension of the similarity matrix.
+     * @return The similarity matrix that describes the attribute-to-attribute similarities of the two relations.
+     */
+    public SimilarityMatrix match(Relation sourceRelation, Relation targetRelation) {
+        Object2IntOpenHashMap<String> dictionary = new Object2IntOpenHashMap<>();
+        ColumnProfile[] sourceProfiles = ColumnProfile.of(sourceRelation, dictionary);
+        ColumnProfile[] targetProfiles = ColumnProfile.of(targetRelation, dictionary);
+
+        for (Stage stage : Stage.values())
+            this.numEvaluatedPairs.put(stage, 0);
+        double totalWeight = this.weights.values().stream().mapToDouble(Double::doubleValue).sum();
+
+        double[][] similarityMatrix = new double[sourceProfiles.length][targetProfiles.length];
+        for (int i = 0; i < sourceProfiles.length; i++) {
+            for (int j = 0; j < targetProfiles.length; j++) {
+                ColumnProfile source = sourceProfiles[i];
+                ColumnProfile target = targetProfiles[j];
+
+                // The weighted similarity of the stages so far and the weight of the stages that are still open
+                double weightedSimilarity = 0;
+                double openWeight = totalWeight;
+                for (Stage stage : Stage.values()) {
+                    double weight = this.weights.get(stage);
+                    if (weight == 0)
+                        continue;
+                    if ((weightedSimilarity + openWeight) / totalWeight < this.minSimilarity)
+                        break;
+                    if (stage == Stage.INSTANCE && !this.mayShareValues(source, target))
+                        break;
+
+                    weightedSimilarity += weight * this.calculate(stage, source, target);
+                    openWeight -= weight;
+                    this.numEvaluatedPairs.merge(stage, 1, Integer::sum);
+                }
+                similarityMatrix[i][j] = weightedSimilarity / totalWeight;
+            }
+        }
+
+        return new SimilarityMatrix(similarityMatrix, sourceRelation, targetRelation);
+    }
+
+    /**
+     * Checks with the column statistics whether the two columns may have a value in common. Two empty columns are
+     * passed on to the instance stage, because their Jaccard similarity is not 0 but 0 / 0.
+     */
+    private boolean mayShareValues(ColumnProfile source, ColumnProfile target) {
+        if (source.getStatistics().isEmpty() && target.getStatistics().isEmpty())
+            return true;
+        return source.getStatistics().mayShareValuesWith(target.getStatistics());
+    }
+
+    private double calculate(Stage stage, ColumnProfile source, ColumnProfile target) {
+        switch (stage) {
+            case NAME:
+                return this.nameSimilarity(source.getName(), target.getName());
+            case STATISTICS:
+                return statisticsSimilarity(source.getStatistics(), target.getStatistics());
+            case INSTANCE:
+                return FirstLineSchemaMatcher.jaccard(source.getValueSet(), target.getValueSet());
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    /**
+     * Calculates the similarity of two attribute names as the maximum of their Levenshtein similarity and their
+     * padded trigram Jaccard similarity, ignoring case.
+     * @return The name similarity in [0, 1].
+     */
+    double nameSimilarity(String name1, String name2) {
+        name1 = (name1 == null) ? "" : name1.toLowerCase();
+        name2 = (name2 == null) ? "" : name2.toLowerCase();
+        if (name1.equals(name2))
+            return 1.0;
+        return Math.max(this.levenshtein.calculate(name1, name2), this.nameJaccard.calculate(name1, name2));
+    }
+
+    /**
+     * Calculates the similarity of two column statistics as the mean of three scores: whether both columns have the
+     * same data type, how much their value length distributions overlap, and how similar their shares of distinct
+     * values are.
+     * @return The statistics similarity in [0, 1].
+     */
+    static double statisticsSimilarity(ColumnStatistics statistics1, ColumnStatistics statistics2) {
+        if (statistics1.isEmpty() || statistics2.isEmpty())
+            return (statistics1.isEmpty() && statistics2.isEmpty()) ? 1.0 : 0.0;
+
+        double typeSimilarity = (statistics1.getType() == statistics2.getType()) ? 1.0 : 0.0;
+
+        double lengthOverlap = 0;
+        long[] lengthHistogram1 = statistics1.getLengthHistogram();
+        long[] lengthHistogram2 = statistics2.getLengthHistogram();
+        for (int i = 0; i < lengthHistogram1.length; i++)
+            lengthOverlap += Math.min((double) lengthHistogram1[i] / statistics1.getNumValues(), (double) lengthHistogram2[i] / statistics2.getNumValues());
+
+        double distinctShare1 = Math.min(1.0, (double) statistics1.estimatedDistinctValues() / statistics1.getNumValues());
+        double distinctShare2 = Math.min(1.0, (double) statistics2.estimatedDistinctValues() / statistics2.getNumValues());
+        double distinctSimilarity = Math.min(distinctShare1, distinctShare2) / Math.max(distinctShare1, distinctShare2);
+
+        return (typeSimilarity + lengthOverlap + distinctSimilarity) / 3;
+    }
+}
@@ -2,11 +2,48 @@ package de.di.schema_matching;
 
 import de.di.Relation;
 import de.di.schema_matching.structures.SimilarityMatrix;
-import de.di.similarity_measures.Jaccard;
-import de.di.similarity_measures.helper.Tokenizer;
+import de.di.schema_matching.structures.SparseSimilarityMatrix;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
 
 public class FirstLineSchemaMatcher {
 
+    // The number of row blocks per worker thread; more blocks than threads let idle threads take over the rows of
+    // columns that are much larger than others
+    private static final int BLOCKS_PER_THREAD = 4;
+
+    // The maximum number of worker threads that calculate the similarity matrix
+    private final int parallelism;
+
+    // The pool whose workers calculate the similarity matrix, or null to start a pool per matching
+    private final ForkJoinPool pool;
+
+    public FirstLineSchemaMatcher() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public FirstLineSchemaMatcher(final int parallelism) {
+        this.parallelism = parallelism;
+        this.pool = null;
+    }
+
+    /**
+     * Creates a matcher that calculates its similarity matrices in the provided pool, e.g., the pool of a caller that
+     * already matches several relation pairs concurrently, so that the calculation neither starts a pool of its own nor
+     * runs more threads than that pool has.
+     * @param pool The pool to calculate the similarity matrices in; it is not shut down by this matcher.
+     */
+    public FirstLineSchemaMatcher(final ForkJoinPool pool) {
+        this.parallelism = pool.getParallelism();
+        this.pool = pool;
+    }
+
     /**
      * Matches the attributes of the source and target table and produces a similarity matrix that represents
      * the attribute-to-attribute similarities of the two relations.
@@ -19,19 +56,116 @@ public class FirstLineSchemaMatcher {
         String[][] targetColumns = targetRelation.getColumns();
 
         // Initialize the similarity matrix
-        double[][] similarityMatrix = new double[sourceColumns.length][targetColumns.length];
+        double[][] similarityMatrix = new double[sourceColumns.length][];
 
-        // Initialize the Tokenizer and Jaccard similarity measure
-        Tokenizer tokenizer = new Tokenizer(3, false); // Example token size of 3 and padding set to false
-        Jaccard jaccard = new Jaccard(tokenizer, false); // or true if you need bag semantics
+        this.calculateRows(sourceColumns, targetColumns, (row, i) -> similarityMatrix[i] = row.clone());
 
-        // Calculate the similarity for each pair of columns
-        for (int i = 0; i < sourceColumns.length; i++) {
-            for (int j = 0; j < targetColumns.length; j++) {
-                similarityMatrix[i][j] = jaccard.calculate(sourceColumns[i], targetColumns[j]);
-            }
+        return new SimilarityMatrix(similarityMatrix, sourceRelation, targetRelation);
+    }
+
+    /**
+     * Matches the attributes of the source and target table like match(), but keeps only the topK most similar target
+     * attributes above minSimilarity per source attribute. Every row is reduced right after its calculation, so the
+     * dense similarity matrix is never materialized.
+     * @param sourceRelation The first relation for the matching that determines the rows of the similarity matrix.
+     * @param targetRelation The second relation for the matching that determines the columns of the similarity matrix.
+     * @param topK The maximum number of stored similarities per row.
+     * @param minSimilarity The similarity that a stored similarity must exceed.
+     * @return The sparse similarity matrix.
+     */
+    public SparseSimilarityMatrix matchSparse(Relation sourceRelation, Relation targetRelation, int topK, double minSimilarity) {
+        String[][] sourceColumns = sourceRelation.getColumns();
+        String[][] targetColumns = targetRelation.getColumns();
+
+        int[][] rowColumns = new int[sourceColumns.length][];
+        float[][] rowValues = new float[sourceColumns.length][];
+
+        this.calculateRows(sourceColumns, targetColumns, (row, i) -> {
+            rowColumns[i] = SparseSimilarityMatrix.selectRow(row, topK, minSimilarity);
+            rowValues[i] = SparseSimilarityMatrix.valuesOf(row, rowColumns[i]);
+        });
+
+        return SparseSimilarityMatrix.fromRows(targetColumns.length, rowColumns, rowValues, sourceRelation, targetRelation);
+    }
+
+    /**
+     * Calculates the set-based Jaccard similarities of all source columns to all target columns row by row and hands
+     * every row to the consumer. Every task calculates a block of rows into its own row buffer, and because every row
+     * is calculated by exactly one task, the result equals the sequential one.
+     * @param sourceColumns The columns of the source relation.
+     * @param targetColumns The columns of the target relation.
+     * @param rowConsumer The consumer of the row buffer and the row index; the buffer is reused after the call.
+     */
+    private void calculateRows(String[][] sourceColumns, String[][] targetColumns, ObjIntConsumer<double[]> rowConsumer) {
+        // Encode every column once into its distinct values, using one dictionary for both relations so that equal
+        // values get equal codes; this replaces the two hash sets that a Jaccard calculation would build per pair
+        Object2IntOpenHashMap<String> dictionary = new Object2IntOpenHashMap<>();
+        int[][] sourceValueSets = encodeValueSets(sourceColumns, dictionary);
+        int[][] targetValueSets = encodeValueSets(targetColumns, dictionary);
+
+        int numRows = sourceColumns.length;
+        int blockSize = Math.max(1, numRows / (this.parallelism * BLOCKS_PER_THREAD));
+        int numBlocks = (numRows + blockSize - 1) / blockSize;
+        ForkJoinPool pool = (this.pool != null) ? this.pool : new ForkJoinPool(this.parallelism);
+        try {
+            // Submitting from a worker of the same pool queues the blocks locally, and the waiting worker helps run them
+            pool.submit(() -> IntStream.range(0, numBlocks).parallel().forEach(block -> {
+                double[] row = new double[targetColumns.length];
+                for (int i = block * blockSize; i < Math.min(numRows, (block + 1) * blockSize); i++) {
+                    for (int j = 0; j < targetColumns.length; j++) {
+                        row[j] = jaccard(sourceValueSets[i], targetValueSets[j]);
+                    }
+                    rowConsumer.accept(row, i);
+                }
+            })).get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (this.pool == null)
+                pool.shutdown();
         }
+    }
 
-        return new SimilarityMatrix(similarityMatrix, sourceRelation, targetRelation);
+    /**
+     * Translates each column into the sorted array of the dictionary codes of its distinct values. Values that are not
+     * yet in the dictionary are added with the next free code.
+     * @param columns The columns to encode.
+     * @param dictionary The dictionary that maps values to codes.
+     * @return The sorted distinct codes of every column.
+     */
+    static int[][] encodeValueSets(String[][] columns, Object2IntOpenHashMap<String> dictionary) {
+        int[][] valueSets = new int[columns.length][];
+        for (int column = 0; column < columns.length; column++) {
+            IntOpenHashSet codes = new IntOpenHashSet();
+            for (String value : columns[column])
+                codes.add(dictionary.computeIfAbsent(value, v -> dictionary.size()));
+            valueSets[column] = codes.toIntArray();
+            Arrays.sort(valueSets[column]);
+        }
+        return valueSets;
+    }
+
+    /**
+     * Calculates the Jaccard similarity of two sorted sets of codes with one merge scan.
+     * @param valueSet1 The first sorted set of distinct codes.
+     * @param valueSet2 The second sorted set of distinct codes.
+     * @return The size of the intersection divided by the size of the union, which is NaN if both sets are empty.
+     */
+    static double jaccard(int[] valueSet1, int[] valueSet2) {
+        int intersectionSize = 0;
+        int i = 0, j = 0;
+        while (i < valueSet1.length && j < valueSet2.length) {
+            if (valueSet1[i] < valueSet2[j]) {
+                i++;
+            } else if (valueSet1[i] > valueSet2[j]) {
+                j++;
+            } else {
+                intersectionSize++;
+                i++;
+                j++;
+            }
+        }
+        int unionSize = valueSet1.length + valueSet2.length - intersectionSize;
+        return (double) intersectionSize / unionSize;
     }
 }
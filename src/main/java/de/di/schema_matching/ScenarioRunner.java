@@ -0,0 +1,173 @@
+package de.di.schema_matching;
+
+import de.di.Relation;
+import de.di.schema_matching.helper.AUCPR;
+import de.di.schema_matching.helper.AUROC;
+import de.di.schema_matching.structures.CorrespondenceMatrix;
+import de.di.schema_matching.structures.MatchingResult;
+import de.di.schema_matching.structures.ScenarioResult;
+import de.di.schema_matching.structures.SimilarityMatrix;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The ScenarioRunner matches and evaluates all relation pairs of one or more schema matching scenarios. A scenario is a
+ * folder with the subfolders source, target, and ground_truth, and a source and target relation form a pair if the
+ * ground truth contains the file source___target.csv. Every file is loaded only once, even if its relation occurs in
+ * several pairs, and the pairs of all scenarios are matched concurrently.
+ */
+public class ScenarioRunner {
+
+    // The strategy of the second-line matching or null to evaluate the first-line similarities directly
+    private final SecondLineSchemaMatcher.Strategy strategy;
+
+    // The maximum number of worker threads that match the pairs
+    private final int parallelism;
+
+    // The number of files that the last run loaded
+    private int numLoadedFiles;
+
+    public ScenarioRunner(final SecondLineSchemaMatcher.Strategy strategy) {
+        this(strategy, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ScenarioRunner(final SecondLineSchemaMatcher.Strategy strategy, final int parallelism) {
+        this.strategy = strategy;
+        this.parallelism = parallelism;
+    }
+
+    public int getNumLoadedFiles() {
+        return this.numLoadedFiles;
+    }
+
+    /**
+     * Runs all scenarios, i.e., all subfolders, of the provided folder.
+     * @param scenariosPath The folder that contains the scenarios.
+     * @return The results of all scenarios ordered by name.
+     */
+    public List<ScenarioResult> runAll(Path scenariosPath) {
+        try (Stream<Path> paths = Files.list(scenariosPath)) {
+            return this.run(paths.filter(Files::isDirectory).sorted().collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Runs the provided scenarios. First, the distinct files of all pairs are loaded in parallel; then the pairs of all
+     * scenarios are matched in the same pool of worker threads, so that small scenarios do not leave threads idle. The
+     * first-line matching of a pair runs in this pool as well, so a scenario with fewer pairs than threads still uses
+     * all threads without starting further pools.
+     * @param scenarioPaths The folders of the scenarios.
+     * @return The results of the scenarios in the provided order.
+     */
+    public List<ScenarioResult> run(List<Path> scenarioPaths) {
+        List<Path[]> pairs = new ArrayList<>();
+        List<Integer> scenarioOfPair = new ArrayList<>();
+        for (int scenario = 0; scenario < scenarioPaths.size(); scenario++) {
+            for (Path[] pair : findPairs(scenarioPaths.get(scenario))) {
+                pairs.add(pair);
+                scenarioOfPair.add(scenario);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            Map<Path, Relation> relations = pool.submit(() -> loadFiles(pairs)).get();
+            this.numLoadedFiles = relations.size();
+
+            FirstLineSchemaMatcher firstMatcher = new FirstLineSchemaMatcher(pool);
+            List<MatchingResult> results = pool.submit(() -> pairs.parallelStream()
+                    .map(pair -> this.evaluate(pair, relations, firstMatcher))
+                    .collect(Collectors.toList())).get();
+
+            List<ScenarioResult> scenarioResults = new ArrayList<>(scenarioPaths.size());
+            for (int scenario = 0; scenario < scenarioPaths.size(); scenario++) {
+                List<MatchingResult> matchingResults = new ArrayList<>();
+                for (int i = 0; i < pairs.size(); i++)
+                    if (scenarioOfPair.get(i) == scenario)
+                        matchingResults.add(results.get(i));
+                scenarioResults.add(new ScenarioResult(scenarioPaths.get(scenario).getFileName().toString(), matchingResults));
+            }
+            return scenarioResults;
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private MatchingResult evaluate(Path[] pair, Map<Path, Relation> relations, FirstLineSchemaMatcher firstMatcher) {
+        Relation sourceRelation = relations.get(pair[0]);
+        Relation targetRelation = relations.get(pair[1]);
+        Relation groundRelation = relations.get(pair[2]);
+
+        long time = System.currentTimeMillis();
+        SimilarityMatrix simMatrix = firstMatcher.match(sourceRelation, targetRelation);
+        CorrespondenceMatrix corrMatrix = (this.strategy == null) ? null : new SecondLineSchemaMatcher(this.strategy).match(simMatrix);
+        time = System.currentTimeMillis() - time;
+
+        int[][] goldMatrix = new CorrespondenceMatrix(groundRelation, sourceRelation, targetRelation).getMatrix();
+        double rocScore = (corrMatrix == null) ? new AUROC().run(goldMatrix, simMatrix.getMatrix()) : new AUROC().run(goldMatrix, corrMatrix.getMatrix());
+        double prScore = (corrMatrix == null) ? new AUCPR().run(goldMatrix, simMatrix.getMatrix()) : new AUCPR().run(goldMatrix, corrMatrix.getMatrix());
+        return new MatchingResult(sourceRelation.getName(), targetRelation.getName(), rocScore, prScore, time);
+    }
+
+    /**
+     * Loads the distinct files of the provided pairs in parallel, so that a relation that occurs in several pairs is
+     * read only once. If called from a task of a ForkJoinPool, the files are loaded in that pool.
+     * @param pairs The paths of the source relation, the target relation, and the ground truth of every pair.
+     * @return The relation of every file.
+     */
+    public static Map<Path, Relation> loadFiles(List<Path[]> pairs) {
+        // The ground truth files are the only files without a header
+        Map<Path, Boolean> hasHeaderByFile = new LinkedHashMap<>();
+        for (Path[] pair : pairs) {
+            hasHeaderByFile.put(pair[0], true);
+            hasHeaderByFile.put(pair[1], true);
+            hasHeaderByFile.put(pair[2], false);
+        }
+        return hasHeaderByFile.entrySet().parallelStream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        file -> new Relation(file.getKey(), file.getValue(), ',', StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Finds the source and target relations of a scenario that are supposed to match, i.e., that have a ground truth.
+     * @param scenarioPath The folder of the scenario.
+     * @return The paths of the source relation, the target relation, and the ground truth of every pair.
+     */
+    public static List<Path[]> findPairs(Path scenarioPath) {
+        List<Path> sources = scanFiles(scenarioPath.resolve("source"));
+        List<Path> targets = scanFiles(scenarioPath.resolve("target"));
+
+        List<Path[]> pairs = new ArrayList<>();
+        for (Path source : sources) {
+            for (Path target : targets) {
+                Path groundTruth = Path.of(source.toString().replaceFirst("source", "ground_truth").replace(".csv", "___") + target.getFileName());
+                if (groundTruth.toFile().exists())
+                    pairs.add(new Path[]{source, target, groundTruth});
+            }
+        }
+        return pairs;
+    }
+
+    private static List<Path> scanFiles(Path folderPath) {
+        try (Stream<Path> paths = Files.walk(folderPath)) {
+            return paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
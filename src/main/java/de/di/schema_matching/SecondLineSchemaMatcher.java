@@ -2,19 +2,76 @@ package de.di.schema_matching;
 
 import de.di.schema_matching.structures.CorrespondenceMatrix;
 import de.di.schema_matching.structures.SimilarityMatrix;
+import de.di.schema_matching.structures.SparseSimilarityMatrix;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 
 import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
 
 public class SecondLineSchemaMatcher {
 
     /**
-     * Converts the similarity matrix into a correspondence matrix using the Hungarian algorithm.
+     * The strategies that select the correspondences from a dense similarity matrix: HUNGARIAN finds the 1:1 matching
+     * with the maximum total similarity in O(n^3); GREEDY repeatedly takes the most similar pair whose attributes are
+     * both still unmatched in O(n^2 log n); STABLE_MARRIAGE lets the source attributes propose to the target attributes
+     * in the order of their similarities until no two attributes prefer each other over their partners in
+     * O(n^2 log n); THRESHOLD selects every pair whose similarity reaches the threshold, i.e., a 1:n matching, in O(n^2).
+     */
+    public enum Strategy {
+        HUNGARIAN, GREEDY, STABLE_MARRIAGE, THRESHOLD
+    }
+
+    public static final double DEFAULT_THRESHOLD = 0.5;
+
+    private final Strategy strategy;
+
+    // The minimum similarity of a pair that the THRESHOLD strategy selects
+    private final double threshold;
+
+    public SecondLineSchemaMatcher() {
+        this(Strategy.HUNGARIAN);
+    }
+
+    public SecondLineSchemaMatcher(final Strategy strategy) {
+        this(strategy, DEFAULT_THRESHOLD);
+    }
+
+    public SecondLineSchemaMatcher(final Strategy strategy, final double threshold) {
+        this.strategy = strategy;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Converts the similarity matrix into a correspondence matrix using the strategy of this matcher, which is the
+     * Hungarian algorithm by default.
      * @param similarityMatrix The input similarity matrix.
      * @return The binary correspondence matrix.
      */
     public CorrespondenceMatrix match(SimilarityMatrix similarityMatrix) {
         double[][] simMatrix = similarityMatrix.getMatrix();
+        int[][] corrMatrix;
+        switch (this.strategy) {
+            case HUNGARIAN:
+                corrMatrix = this.matchHungarian(simMatrix);
+                break;
+            case GREEDY:
+                corrMatrix = matchGreedy(simMatrix);
+                break;
+            case STABLE_MARRIAGE:
+                corrMatrix = matchStableMarriage(simMatrix);
+                break;
+            case THRESHOLD:
+                corrMatrix = matchThreshold(simMatrix, this.threshold);
+                break;
+            default:
+                throw new AssertionError();
+        }
+        return new CorrespondenceMatrix(corrMatrix, similarityMatrix.getSourceRelation(), similarityMatrix.getTargetRelation());
+    }
 
+    private int[][] matchHungarian(double[][] simMatrix) {
         // Transform similarity matrix to cost matrix
         int numRows = simMatrix.length;
         int numCols = simMatrix[0].length;
@@ -31,18 +88,161 @@ public class SecondLineSchemaMatcher {
         int[] optimalMatches = hungarian.execute();
 
         // Convert matches to binary correspondence matrix
-        int[][] corrMatrix = generateCorrespondenceMatrix(optimalMatches, numRows, numCols);
-        return new CorrespondenceMatrix(corrMatrix, similarityMatrix.getSourceRelation(), similarityMatrix.getTargetRelation());
+        return generateCorrespondenceMatrix(optimalMatches, numRows, numCols);
+    }
+
+    /**
+     * Selects the pairs in the order of descending similarity and keeps every pair whose attributes are both still
+     * unmatched; ties are broken by the lower row and then the lower column. Like the Hungarian algorithm, this matches
+     * min(numRows, numCols) pairs, but its total similarity is only guaranteed to be at least half of the optimum.
+     * @param simMatrix The similarity matrix.
+     * @return The binary correspondence matrix.
+     */
+    static int[][] matchGreedy(double[][] simMatrix) {
+        int numRows = simMatrix.length;
+        int numCols = simMatrix[0].length;
+
+        int[] cells = IntStream.range(0, numRows * numCols).toArray();
+        IntArrays.parallelQuickSort(cells, (c1, c2) -> {
+            int valueComparison = Double.compare(simMatrix[c2 / numCols][c2 % numCols], simMatrix[c1 / numCols][c1 % numCols]);
+            return (valueComparison != 0) ? valueComparison : Integer.compare(c1, c2);
+        });
+
+        int[] matches = new int[numRows];
+        Arrays.fill(matches, -1);
+        boolean[] matchedCols = new boolean[numCols];
+        int numMatches = 0;
+        for (int k = 0; k < cells.length && numMatches < Math.min(numRows, numCols); k++) {
+            int i = cells[k] / numCols;
+            int j = cells[k] % numCols;
+            if (matches[i] == -1 && !matchedCols[j]) {
+                matches[i] = j;
+                matchedCols[j] = true;
+                numMatches++;
+            }
+        }
+        return generateCorrespondenceMatrix(matches, numRows, numCols);
+    }
+
+    /**
+     * Calculates a stable matching with the Gale-Shapley algorithm: every unmatched source attribute proposes to its
+     * most similar target attribute that it has not proposed to yet, and the target attribute accepts the proposal if it
+     * is unmatched or prefers the proposer over its current partner. In the result, no source and target attribute are
+     * more similar to each other than to their partners. If there are more source than target attributes, the surplus
+     * source attributes stay unmatched.
+     * @param simMatrix The similarity matrix.
+     * @return The binary correspondence matrix.
+     */
+    static int[][] matchStableMarriage(double[][] simMatrix) {
+        int numRows = simMatrix.length;
+        int numCols = simMatrix[0].length;
+
+        // The preference list of every source attribute with ties broken by the lower column
+        int[][] preferences = new int[numRows][];
+        for (int i = 0; i < numRows; i++) {
+            double[] row = simMatrix[i];
+            preferences[i] = IntStream.range(0, numCols).toArray();
+            IntArrays.quickSort(preferences[i], (j1, j2) -> {
+                int valueComparison = Double.compare(row[j2], row[j1]);
+                return (valueComparison != 0) ? valueComparison : Integer.compare(j1, j2);
+            });
+        }
+
+        int[] matchColByRow = new int[numRows];
+        Arrays.fill(matchColByRow, -1);
+        int[] matchRowByCol = new int[numCols];
+        Arrays.fill(matchRowByCol, -1);
+        int[] nextProposal = new int[numRows];
+
+        IntArrayList freeRows = new IntArrayList();
+        for (int i = numRows - 1; i >= 0; i--)
+            freeRows.add(i);
+        while (!freeRows.isEmpty()) {
+            int i = freeRows.popInt();
+            if (nextProposal[i] == numCols)
+                continue;
+            int j = preferences[i][nextProposal[i]++];
+            int partner = matchRowByCol[j];
+            if (partner == -1 || simMatrix[i][j] > simMatrix[partner][j] || (simMatrix[i][j] == simMatrix[partner][j] && i < partner)) {
+                if (partner != -1) {
+                    matchColByRow[partner] = -1;
+                    freeRows.add(partner);
+                }
+                matchRowByCol[j] = i;
+                matchColByRow[i] = j;
+            } else {
+                freeRows.add(i);
+            }
+        }
+        return generateCorrespondenceMatrix(matchColByRow, numRows, numCols);
+    }
+
+    /**
+     * Selects every pair whose similarity reaches the threshold, so that an attribute can correspond to several
+     * attributes of the other relation, e.g., if one relation splits an attribute of the other.
+     * @param simMatrix The similarity matrix.
+     * @param threshold The minimum similarity of a selected pair.
+     * @return The binary correspondence matrix.
+     */
+    static int[][] matchThreshold(double[][] simMatrix, double threshold) {
+        int[][] corrMatrix = new int[simMatrix.length][];
+        for (int i = 0; i < simMatrix.length; i++) {
+            corrMatrix[i] = new int[simMatrix[i].length];
+            for (int j = 0; j < simMatrix[i].length; j++)
+                corrMatrix[i][j] = (simMatrix[i][j] >= threshold) ? 1 : 0;
+        }
+        return corrMatrix;
+    }
+
+    /**
+     * Converts a sparse similarity matrix into a sparse binary correspondence matrix that maximizes the total
+     * similarity of the matched attribute pairs, like the Hungarian algorithm does for dense matrices. Because cells
+     * that are not stored have the similarity 0, only the stored cells are considered: the assignment runs on the
+     * sparse bipartite graph and never builds a dense cost matrix. Unlike the dense variant, attributes whose stored
+     * cells are all taken stay unmatched instead of being paired with an arbitrary attribute of similarity 0.
+     * @param similarityMatrix The input sparse similarity matrix.
+     * @return The sparse correspondence matrix with the value 1 for every matched attribute pair.
+     */
+    public SparseSimilarityMatrix match(SparseSimilarityMatrix similarityMatrix) {
+        return toCorrespondences(similarityMatrix, new SparseAssignment(similarityMatrix).execute());
+    }
+
+    /**
+     * Converts a sparse similarity matrix into a sparse binary correspondence matrix with the auction algorithm, which
+     * trades exactness for speed on large matrices: its total similarity is at most numRows * epsilon below the
+     * optimum, so any epsilon below (smallest similarity difference) / numRows yields an optimal matching. The
+     * unmatched source attributes bid for their best target attributes in parallel rounds; a larger epsilon needs
+     * fewer rounds.
+     * @param similarityMatrix The input sparse similarity matrix.
+     * @param epsilon The minimum bid increment and the optimality tolerance per source attribute; must be positive.
+     * @return The sparse correspondence matrix with the value 1 for every matched attribute pair.
+     */
+    public SparseSimilarityMatrix match(SparseSimilarityMatrix similarityMatrix, double epsilon) {
+        if (epsilon <= 0)
+            throw new IllegalArgumentException("The auction algorithm needs a positive epsilon");
+        return toCorrespondences(similarityMatrix, new AuctionAssignment(similarityMatrix, epsilon).execute());
+    }
+
+    private static SparseSimilarityMatrix toCorrespondences(SparseSimilarityMatrix similarityMatrix, int[] matches) {
+        int numRows = similarityMatrix.getNumRows();
+        int[][] rowColumns = new int[numRows][];
+        float[][] rowValues = new float[numRows][];
+        for (int i = 0; i < numRows; i++) {
+            rowColumns[i] = (matches[i] >= 0) ? new int[]{matches[i]} : new int[0];
+            rowValues[i] = (matches[i] >= 0) ? new float[]{1} : new float[0];
+        }
+        return SparseSimilarityMatrix.fromRows(similarityMatrix.getNumColumns(), rowColumns, rowValues,
+                similarityMatrix.getSourceRelation(), similarityMatrix.getTargetRelation());
     }
 
     /**
-     * Generates a binary correspondence matrix from the optimal matches.
-     * @param matches The optimal matches from the Hungarian algorithm.
+     * Generates a binary correspondence matrix from the matches.
+     * @param matches The matched column of every row, or -1 for unmatched rows.
      * @param numRows Number of rows in the original matrix.
      * @param numCols Number of columns in the original matrix.
      * @return The binary correspondence matrix.
      */
-    private int[][] generateCorrespondenceMatrix(int[] matches, int numRows, int numCols) {
+    private static int[][] generateCorrespondenceMatrix(int[] matches, int numRows, int numCols) {
         int[][] corrMatrix = new int[numRows][numCols];
         for (int i = 0; i < numRows; i++) {
             Arrays.fill(corrMatrix[i], 0);
@@ -248,4 +448,246 @@ public class SecondLineSchemaMatcher {
             matchRowByCol[j] = i;
         }
     }
+
+    /**
+     * Solves the assignment problem on a sparse similarity matrix with successive shortest augmenting paths: every row
+     * is added to the matching via a Dijkstra search over the reduced costs 1 - similarity - u[row] - v[column], and
+     * the potentials u and v keep these costs non-negative. Every row has a private dummy column with cost 1, i.e.,
+     * similarity 0, so that it can always stay unmatched.
+     */
+    private static class SparseAssignment {
+        private final SparseSimilarityMatrix matrix;
+        private final int numRows, numColumns, numAllColumns;
+        private final double[] rowPotentials, columnPotentials;
+        private final int[] matchColByRow, matchRowByCol;
+        private final double[] rowDistances, columnDistances;
+        private final int[] parentRowByCol;
+        private final boolean[] finalizedCols;
+
+        public SparseAssignment(SparseSimilarityMatrix matrix) {
+            this.matrix = matrix;
+            this.numRows = matrix.getNumRows();
+            this.numColumns = matrix.getNumColumns();
+            this.numAllColumns = this.numColumns + this.numRows;
+            this.rowPotentials = new double[this.numRows];
+            this.columnPotentials = new double[this.numAllColumns];
+            this.matchColByRow = new int[this.numRows];
+            Arrays.fill(this.matchColByRow, -1);
+            this.matchRowByCol = new int[this.numAllColumns];
+            Arrays.fill(this.matchRowByCol, -1);
+            this.rowDistances = new double[this.numRows];
+            this.columnDistances = new double[this.numAllColumns];
+            Arrays.fill(this.columnDistances, Double.POSITIVE_INFINITY);
+            this.parentRowByCol = new int[this.numAllColumns];
+            this.finalizedCols = new boolean[this.numAllColumns];
+        }
+
+        /**
+         * @return The matched column of every row or -1 if the row stays unmatched.
+         */
+        public int[] execute() {
+            for (int row = 0; row < this.numRows; row++)
+                this.addRow(row);
+
+            int[] result = new int[this.numRows];
+            for (int row = 0; row < this.numRows; row++)
+                result[row] = (this.matchColByRow[row] < this.numColumns) ? this.matchColByRow[row] : -1;
+            return result;
+        }
+
+        private void addRow(int startRow) {
+            IntArrayList visitedRows = new IntArrayList();
+            IntArrayList touchedCols = new IntArrayList();
+            PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+
+            this.rowDistances[startRow] = 0;
+            visitedRows.add(startRow);
+            this.relax(startRow, queue, touchedCols);
+
+            int freeCol = -1;
+            double freeDistance = 0;
+            while (!queue.isEmpty()) {
+                double[] entry = queue.poll();
+                int col = (int) entry[1];
+                if (this.finalizedCols[col] || entry[0] > this.columnDistances[col])
+                    continue;
+                this.finalizedCols[col] = true;
+                if (this.matchRowByCol[col] == -1) {
+                    freeCol = col;
+                    freeDistance = entry[0];
+                    break;
+                }
+                int row = this.matchRowByCol[col];
+                this.rowDistances[row] = entry[0];
+                visitedRows.add(row);
+                this.relax(row, queue, touchedCols);
+            }
+
+            // Update the potentials such that the reduced costs stay non-negative and the shortest path becomes tight
+            for (int row : visitedRows)
+                this.rowPotentials[row] += freeDistance - this.rowDistances[row];
+            for (int col : touchedCols)
+                if (this.finalizedCols[col])
+                    this.columnPotentials[col] += this.columnDistances[col] - freeDistance;
+
+            // Flip the matching along the path from the free column back to the start row
+            int col = freeCol;
+            while (col != -1) {
+                int row = this.parentRowByCol[col];
+                int previousCol = this.matchColByRow[row];
+                this.matchColByRow[row] = col;
+                this.matchRowByCol[col] = row;
+                col = (row == startRow) ? -1 : previousCol;
+            }
+
+            for (int touchedCol : touchedCols) {
+                this.columnDistances[touchedCol] = Double.POSITIVE_INFINITY;
+                this.finalizedCols[touchedCol] = false;
+            }
+        }
+
+        private void relax(int row, PriorityQueue<double[]> queue, IntArrayList touchedCols) {
+            int[] rowOffsets = this.matrix.getRowOffsets();
+            for (int k = rowOffsets[row]; k < rowOffsets[row + 1]; k++)
+                this.relax(row, this.matrix.getColumnIndices()[k], 1.0 - this.matrix.getValues()[k], queue, touchedCols);
+            this.relax(row, this.numColumns + row, 1.0, queue, touchedCols);
+        }
+
+        private void relax(int row, int col, double cost, PriorityQueue<double[]> queue, IntArrayList touchedCols) {
+            if (this.finalizedCols[col])
+                return;
+            double distance = this.rowDistances[row] + cost - this.rowPotentials[row] - this.columnPotentials[col];
+            if (distance < this.columnDistances[col]) {
+                if (this.columnDistances[col] == Double.POSITIVE_INFINITY)
+                    touchedCols.add(col);
+                this.columnDistances[col] = distance;
+                this.parentRowByCol[col] = row;
+                queue.add(new double[]{distance, col});
+            }
+        }
+    }
+
+    /**
+     * Solves the assignment problem on a sparse similarity matrix with Bertsekas' auction algorithm: every unassigned
+     * row bids for the column with the best value, i.e., similarity minus price, and raises that column's price by the
+     * difference to its second best value plus epsilon; the previous owner of the column becomes unassigned again.
+     * The rows bid in Jacobi rounds, so that all bids of a round can be calculated in parallel, and every column goes
+     * to its highest bidder. Every row has a private dummy column with similarity 0 to stay unmatched. The final
+     * assignment is epsilon-complementary slack, i.e., every row gets a column whose value is within epsilon of its
+     * best value, which bounds the gap to the optimum by numRows * epsilon. The auction starts with zero prices and
+     * uses no epsilon scaling, because columns that stay unassigned would keep the prices of earlier scaling phases,
+     * and these prices add to the gap.
+     */
+    private static class AuctionAssignment {
+        // Rounds with more bidders than this calculate their bids in parallel
+        private static final int PARALLEL_BIDDERS = 1024;
+
+        private final SparseSimilarityMatrix matrix;
+        private final double epsilon;
+        private final int numRows, numColumns, numAllColumns;
+        private final double[] prices;
+        private final int[] matchColByRow, matchRowByCol;
+        private final int[] bidCols;
+        private final double[] bidPrices;
+
+        public AuctionAssignment(SparseSimilarityMatrix matrix, double epsilon) {
+            this.matrix = matrix;
+            this.epsilon = epsilon;
+            this.numRows = matrix.getNumRows();
+            this.numColumns = matrix.getNumColumns();
+            this.numAllColumns = this.numColumns + this.numRows;
+            this.prices = new double[this.numAllColumns];
+            this.matchColByRow = new int[this.numRows];
+            this.matchRowByCol = new int[this.numAllColumns];
+            this.bidCols = new int[this.numRows];
+            this.bidPrices = new double[this.numRows];
+        }
+
+        /**
+         * @return The matched column of every row or -1 if the row stays unmatched.
+         */
+        public int[] execute() {
+            this.runAuction();
+
+            int[] result = new int[this.numRows];
+            for (int row = 0; row < this.numRows; row++)
+                result[row] = (this.matchColByRow[row] < this.numColumns) ? this.matchColByRow[row] : -1;
+            return result;
+        }
+
+        private void runAuction() {
+            Arrays.fill(this.matchColByRow, -1);
+            Arrays.fill(this.matchRowByCol, -1);
+
+            int[] winnerByCol = new int[this.numAllColumns];
+            Arrays.fill(winnerByCol, -1);
+            IntArrayList biddenCols = new IntArrayList();
+
+            int[] bidders = IntStream.range(0, this.numRows).toArray();
+            while (bidders.length > 0) {
+                int[] currentBidders = bidders;
+                IntStream bidderStream = IntStream.of(currentBidders);
+                if (currentBidders.length > PARALLEL_BIDDERS)
+                    bidderStream = bidderStream.parallel();
+                bidderStream.forEach(this::bid);
+
+                // Every column goes to its highest bidder; ties go to the earlier bidder, so the result is deterministic
+                IntArrayList nextBidders = new IntArrayList();
+                biddenCols.clear();
+                for (int row : currentBidders) {
+                    int col = this.bidCols[row];
+                    int winner = winnerByCol[col];
+                    if (winner == -1) {
+                        winnerByCol[col] = row;
+                        biddenCols.add(col);
+                    } else if (this.bidPrices[row] > this.bidPrices[winner]) {
+                        winnerByCol[col] = row;
+                        nextBidders.add(winner);
+                    } else {
+                        nextBidders.add(row);
+                    }
+                }
+
+                // The previous owners of the won columns are unassigned and bid again in the next round
+                for (int col : biddenCols) {
+                    int winner = winnerByCol[col];
+                    int previousOwner = this.matchRowByCol[col];
+                    if (previousOwner != -1) {
+                        this.matchColByRow[previousOwner] = -1;
+                        nextBidders.add(previousOwner);
+                    }
+                    this.matchRowByCol[col] = winner;
+                    this.matchColByRow[winner] = col;
+                    this.prices[col] = this.bidPrices[winner];
+                    winnerByCol[col] = -1;
+                }
+                bidders = nextBidders.toIntArray();
+            }
+        }
+
+        private void bid(int row) {
+            int[] rowOffsets = this.matrix.getRowOffsets();
+            int[] columnIndices = this.matrix.getColumnIndices();
+            float[] values = this.matrix.getValues();
+
+            // The private dummy column is always an option with similarity 0
+            int bestCol = this.numColumns + row;
+            double bestValue = -this.prices[bestCol];
+            double secondValue = Double.NEGATIVE_INFINITY;
+            for (int k = rowOffsets[row]; k < rowOffsets[row + 1]; k++) {
+                double value = values[k] - this.prices[columnIndices[k]];
+                if (value > bestValue) {
+                    secondValue = bestValue;
+                    bestValue = value;
+                    bestCol = columnIndices[k];
+                } else if (value > secondValue) {
+                    secondValue = value;
+                }
+            }
+
+            this.bidCols[row] = bestCol;
+            double increment = (secondValue == Double.NEGATIVE_INFINITY) ? this.epsilon : bestValue - secondValue + this.epsilon;
+            this.bidPrices[row] = this.prices[bestCol] + increment;
+        }
+    }
 }
@@ -0,0 +1,139 @@
+package de.di.schema_matching;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.FingerprintSet;
+import de.di.schema_matching.structures.SimilarityMatrix;
+import de.di.similarity_measures.helper.MinHash;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The SketchSchemaMatcher is an approximate alternative to the FirstLineSchemaMatcher for very large relations: it
+ * summarizes every column once by a MinHash signature of k values and estimates the Jaccard similarity of two columns
+ * as the share of equal signature positions. After the sketching pass, which reads every value once, the cost of the
+ * matching depends only on k and the number of columns, but not on the number of rows. The standard error of each
+ * estimate is sqrt(J * (1 - J) / k).
+ */
+public class SketchSchemaMatcher {
+
+    // The number of MinHash functions, i.e., the length of each column signature
+    @Getter
+    private final int numHashFunctions;
+
+    private final List<MinHash> minHashFunctions;
+
+    public SketchSchemaMatcher(final int numHashFunctions) {
+        this.numHashFunctions = numHashFunctions;
+        this.minHashFunctions = new ArrayList<>(numHashFunctions);
+        for (int i = 0; i < numHashFunctions; i++)
+            this.minHashFunctions.add(new MinHash(i));
+    }
+
+    /**
+     * Matches the attributes of the source and target table and produces a similarity matrix of estimated
+     * attribute-to-attribute Jaccard similarities.
+     * @param sourceRelation The first relation for the matching that determines the first dimension of the similarity matrix.
+     * @param targetRelation The second relation for the matching that determines the second dimension of the similarity matrix.
+     * @return The similarity matrix that describes the estimated attribute-to-attribute similarities of the two relations.
+     */
+    public SimilarityMatrix match(Relation sourceRelation, Relation targetRelation) {
+        long[][] sourceSignatures = this.sketchAll(sourceRelation.getColumns());
+        long[][] targetSignatures = this.sketchAll(targetRelation.getColumns());
+
+        double[][] similarityMatrix = new double[sourceSignatures.length][targetSignatures.length];
+        for (int i = 0; i < sourceSignatures.length; i++)
+            for (int j = 0; j < targetSignatures.length; j++)
+                similarityMatrix[i][j] = estimateJaccard(sourceSignatures[i], targetSignatures[j]);
+
+        return new SimilarityMatrix(similarityMatrix, sourceRelation, targetRelation);
+    }
+
+    private long[][] sketchAll(String[][] columns) {
+        long[][] signatures = new long[columns.length][];
+        IntStream.range(0, columns.length).parallel()
+                .forEach(column -> signatures[column] = this.sketch(columns[column]));
+        return signatures;
+    }
+
+    /**
+     * Calculates the MinHash signature of a column over the fingerprints of its distinct values.
+     * @param values The values of the column.
+     * @return The signature or null if the column has no values.
+     */
+    long[] sketch(String[] values) {
+        if (values.length == 0)
+            return null;
+
+        LongOpenHashSet distinctFingerprints = new LongOpenHashSet();
+        for (String value : values)
+            distinctFingerprints.add(FingerprintSet.fingerprint(value));
+        long[] fingerprints = distinctFingerprints.toLongArray();
+
+        long[] signature = new long[this.numHashFunctions];
+        for (int i = 0; i < this.numHashFunctions; i++)
+            signature[i] = this.minHashFunctions.get(i).hash(fingerprints);
+        return signature;
+    }
+
+    /**
+     * Estimates the Jaccard similarity of two columns from their signatures. Like the exact similarity, two empty
+     * columns have a similarity of 0 / 0 and an empty and a non-empty column a similarity of 0.
+     * @param signature1 The signature of the first column or null if it is empty.
+     * @param signature2 The signature of the second column or null if it is empty.
+     * @return The share of equal signature positions.
+     */
+    static double estimateJaccard(long[] signature1, long[] signature2) {
+        if (signature1 == null || signature2 == null)
+            return (signature1 == signature2) ? Double.NaN : 0.0;
+
+        int numEqual = 0;
+        for (int i = 0; i < signature1.length; i++)
+            if (signature1[i] == signature2[i])
+                numEqual++;
+        return (double) numEqual / signature1.length;
+    }
+
+    /**
+     * Calculates the mean absolute difference of the cells of an exact and an estimated similarity matrix. Cells that
+     * are NaN in both matrices count as equal.
+     * @param exact The exact similarity matrix.
+     * @param estimated The estimated similarity matrix with the same dimensions.
+     * @return The mean absolute error of the estimated matrix.
+     */
+    public static double meanAbsoluteError(SimilarityMatrix exact, SimilarityMatrix estimated) {
+        double errorSum = 0;
+        int numCells = 0;
+        for (int i = 0; i < exact.getMatrix().length; i++) {
+            for (int j = 0; j < exact.getMatrix()[i].length; j++) {
+                errorSum += absoluteError(exact.getMatrix()[i][j], estimated.getMatrix()[i][j]);
+                numCells++;
+            }
+        }
+        return (numCells == 0) ? 0 : errorSum / numCells;
+    }
+
+    /**
+     * Calculates the maximum absolute difference of the cells of an exact and an estimated similarity matrix. Cells
+     * that are NaN in both matrices count as equal.
+     * @param exact The exact similarity matrix.
+     * @param estimated The estimated similarity matrix with the same dimensions.
+     * @return The maximum absolute error of the estimated matrix.
+     */
+    public static double maxAbsoluteError(SimilarityMatrix exact, SimilarityMatrix estimated) {
+        double maxError = 0;
+        for (int i = 0; i < exact.getMatrix().length; i++)
+            for (int j = 0; j < exact.getMatrix()[i].length; j++)
+                maxError = Math.max(maxError, absoluteError(exact.getMatrix()[i][j], estimated.getMatrix()[i][j]));
+        return maxError;
+    }
+
+    private static double absoluteError(double exact, double estimated) {
+        if (Double.isNaN(exact) || Double.isNaN(estimated))
+            return (Double.isNaN(exact) && Double.isNaN(estimated)) ? 0 : 1;
+        return Math.abs(exact - estimated);
+    }
+}
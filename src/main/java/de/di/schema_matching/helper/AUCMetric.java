@@ -1,5 +1,9 @@
 package de.di.schema_matching.helper;
 
+import de.di.schema_matching.structures.SparseSimilarityMatrix;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
 import java.util.Arrays;
 
 public abstract class AUCMetric extends Metric {
@@ -23,6 +27,129 @@ public abstract class AUCMetric extends Metric {
         return this.run(groundTruthVector, simVector);
     }
 
+    /**
+     * Evaluates a similarity vector in O(n log n): the similarities of the positives and of the negatives are sorted
+     * separately with a primitive sort, and one merge sweep from the largest similarities downwards counts the
+     * positives and negatives of every group of equal similarity. This is the same as sorting all cells by descending
+     * similarity with the negatives first on ties, because the curve points are only taken between groups.
+     * @param groundTruthVector The ground truth vector with 1 for every positive.
+     * @param simVector The similarity vector.
+     * @return The area under the curve.
+     */
+    @Override
+    public double run(int[] groundTruthVector, double[] simVector) {
+        int numPositives = 0;
+        for (int label : groundTruthVector)
+            numPositives += (label == 1) ? 1 : 0;
+
+        // Adding 0.0 turns -0.0 into 0.0, which the threshold comparison considers equal
+        double[] positiveValues = new double[numPositives];
+        double[] negativeValues = new double[simVector.length - numPositives];
+        for (int i = 0, p = 0, n = 0; i < simVector.length; i++) {
+            if (groundTruthVector[i] == 1)
+                positiveValues[p++] = simVector[i] + 0.0;
+            else
+                negativeValues[n++] = simVector[i] + 0.0;
+        }
+        Arrays.sort(positiveValues);
+        Arrays.sort(negativeValues);
+
+        LongArrayList groupPositives = new LongArrayList();
+        LongArrayList groupNegatives = new LongArrayList();
+        int p = positiveValues.length - 1;
+        int n = negativeValues.length - 1;
+        while (p >= 0 || n >= 0) {
+            double groupValue;
+            if (p < 0)
+                groupValue = negativeValues[n];
+            else if (n < 0)
+                groupValue = positiveValues[p];
+            else
+                groupValue = (Double.compare(positiveValues[p], negativeValues[n]) >= 0) ? positiveValues[p] : negativeValues[n];
+
+            long numGroupPositives = 0;
+            while (p >= 0 && Double.compare(positiveValues[p], groupValue) == 0) {
+                numGroupPositives++;
+                p--;
+            }
+            long numGroupNegatives = 0;
+            while (n >= 0 && Double.compare(negativeValues[n], groupValue) == 0) {
+                numGroupNegatives++;
+                n--;
+            }
+            groupPositives.add(numGroupPositives);
+            groupNegatives.add(numGroupNegatives);
+        }
+
+        return this.calcAreaFromGroups(groupPositives.toLongArray(), groupNegatives.toLongArray());
+    }
+
+    /**
+     * Evaluates a sparse similarity matrix without expanding it: the stored cells are sorted by descending similarity,
+     * and all cells that are not stored form one group of cells with similarity 0. Because the curve points are only
+     * taken between groups of equal similarity, this yields the same score as the evaluation of the expanded matrix.
+     * @param groundTruthMatrix The dense ground truth matrix.
+     * @param simMatrix The sparse similarity matrix.
+     * @return The area under the curve.
+     */
+    public double run(int[][] groundTruthMatrix, SparseSimilarityMatrix simMatrix) {
+        int[] rowOffsets = simMatrix.getRowOffsets();
+        int[] columnIndices = simMatrix.getColumnIndices();
+        float[] values = simMatrix.getValues();
+
+        long numPositives = 0;
+        for (int[] row : groundTruthMatrix)
+            for (int cell : row)
+                numPositives += (cell == 1) ? 1 : 0;
+
+        // Every stored cell is one item, and all cells that are not stored form one more item with similarity 0
+        int numStored = values.length;
+        float[] itemValues = Arrays.copyOf(values, numStored + 1);
+        long[] itemPositives = new long[numStored + 1];
+        long[] itemCells = new long[numStored + 1];
+        for (int i = 0; i < simMatrix.getNumRows(); i++) {
+            for (int k = rowOffsets[i]; k < rowOffsets[i + 1]; k++) {
+                itemPositives[k] = (groundTruthMatrix[i][columnIndices[k]] == 1) ? 1 : 0;
+                itemCells[k] = 1;
+                numPositives -= itemPositives[k];
+            }
+        }
+        itemPositives[numStored] = numPositives;
+        itemCells[numStored] = (long) simMatrix.getNumRows() * simMatrix.getNumColumns() - numStored;
+
+        int[] order = new int[numStored + 1];
+        for (int k = 0; k <= numStored; k++)
+            order[k] = k;
+        IntArrays.quickSort(order, (k1, k2) -> Float.compare(itemValues[k2], itemValues[k1]));
+
+        // Merge the items into groups of equal similarity in descending order
+        LongArrayList groupPositives = new LongArrayList();
+        LongArrayList groupNegatives = new LongArrayList();
+        float groupValue = Float.NaN;
+        for (int k : order) {
+            if (itemCells[k] == 0)
+                continue;
+            if (groupPositives.isEmpty() || itemValues[k] != groupValue) {
+                groupPositives.add(0);
+                groupNegatives.add(0);
+                groupValue = itemValues[k];
+            }
+            int last = groupPositives.size() - 1;
+            groupPositives.set(last, groupPositives.getLong(last) + itemPositives[k]);
+            groupNegatives.set(last, groupNegatives.getLong(last) + itemCells[k] - itemPositives[k]);
+        }
+
+        return this.calcAreaFromGroups(groupPositives.toLongArray(), groupNegatives.toLongArray());
+    }
+
+    /**
+     * Calculates the area under the curve from groups of cells with equal similarity.
+     * @param groupPositives The number of positive cells of each group, in descending order of the groups' similarity.
+     * @param groupNegatives The number of negative cells of each group, in the same order.
+     * @return The area under the curve.
+     */
+    protected abstract double calcAreaFromGroups(long[] groupPositives, long[] groupNegatives);
+
     protected double[] flattenMatrix(double[][] m) {
         return Arrays.stream(m).flatMapToDouble(Arrays::stream).toArray();
     }
@@ -1,6 +1,7 @@
 package de.di.schema_matching.helper;
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.ints.IntList;
 
 import java.util.Arrays;
@@ -14,36 +15,20 @@ public class MetricUtils {
      *      When two values are equal, ground truth works as tie-breaker: negatives are listed before positives.
      */
     public static IntList getSortedSimIndices(double[] simVector, int[] groundTruthVector) {
-        IntList res = new IntArrayList();
-        IntList gtIndices = getGroundTruthIndices(groundTruthVector);
-
-        // insert all sim indices not in ground truth
-        for (int i = 0; i < simVector.length; i++) {
-            if (!gtIndices.contains(i)) {
-                res.add(i);
-            }
-        }
-
-        res.sort((a,b) -> Double.compare(simVector[b], simVector[a]));
-
-        // add all sim indices which are in ground truth
-        for (int id : gtIndices) {
-            double currSimScore = simVector[id];
-            int currResSize = res.size();
-            boolean inserted = false;
-            for (int i = 0; i < currResSize; i++) {
-                if (simVector[res.get(i)] < currSimScore) {
-                    res.add(i, id);
-                    inserted = true;
-                    break;
-                }
-            }
-            if (!inserted) { // add to end
-                res.add(id);
-            }
-        }
-
-        return res;
+        int[] indices = new int[simVector.length];
+        for (int i = 0; i < indices.length; i++)
+            indices[i] = i;
+
+        // One primitive sort by (similarity desc, label asc); the sort is not stable, so equal cells are kept in index order
+        IntArrays.quickSort(indices, (a, b) -> {
+            int valueComparison = Double.compare(simVector[b], simVector[a]);
+            if (valueComparison != 0)
+                return valueComparison;
+            int labelComparison = Integer.compare(groundTruthVector[a] == 1 ? 1 : 0, groundTruthVector[b] == 1 ? 1 : 0);
+            return (labelComparison != 0) ? labelComparison : Integer.compare(a, b);
+        });
+
+        return IntArrayList.wrap(indices);
     }
 
     /**
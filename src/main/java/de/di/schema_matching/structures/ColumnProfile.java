@@ -0,0 +1,69 @@
+package de.di.schema_matching.structures;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.ColumnStatistics;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * A ColumnProfile bundles everything that the matching stages need to know about a column: its attribute name, its
+ * statistics, and its distinct values as sorted dictionary codes. The value set is the most expensive part and is
+ * therefore only built when a stage asks for it; all profiles of one matching share the same dictionary, so that equal
+ * values have equal codes in all columns.
+ */
+@Getter
+public class ColumnProfile {
+
+    private final String name;
+
+    private final ColumnStatistics statistics;
+
+    @Getter(AccessLevel.NONE)
+    private final String[] values;
+
+    @Getter(AccessLevel.NONE)
+    private final Object2IntOpenHashMap<String> dictionary;
+
+    @Getter(AccessLevel.NONE)
+    private int[] valueSet = null;
+
+    public ColumnProfile(final String name, final ColumnStatistics statistics, final String[] values, final Object2IntOpenHashMap<String> dictionary) {
+        this.name = name;
+        this.statistics = statistics;
+        this.values = values;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Creates the profiles of all columns of a relation; the statistics are taken from the relation's cache.
+     * @param relation The relation to profile.
+     * @param dictionary The dictionary that all profiles of the matching share.
+     * @return The profiles of all columns, indexed by attribute.
+     */
+    public static ColumnProfile[] of(Relation relation, Object2IntOpenHashMap<String> dictionary) {
+        String[][] columns = relation.getColumns();
+        ColumnProfile[] profiles = new ColumnProfile[columns.length];
+        for (int attribute = 0; attribute < columns.length; attribute++)
+            profiles[attribute] = new ColumnProfile(relation.getAttributes()[attribute], relation.getColumnStatistics(attribute), columns[attribute], dictionary);
+        return profiles;
+    }
+
+    /**
+     * Returns the distinct values of the column as sorted dictionary codes and encodes them on first access.
+     * @return The sorted distinct codes of the column.
+     */
+    public int[] getValueSet() {
+        if (this.valueSet == null) {
+            IntOpenHashSet codes = new IntOpenHashSet();
+            for (String value : this.values)
+                codes.add(this.dictionary.computeIfAbsent(value, v -> this.dictionary.size()));
+            this.valueSet = codes.toIntArray();
+            Arrays.sort(this.valueSet);
+        }
+        return this.valueSet;
+    }
+}
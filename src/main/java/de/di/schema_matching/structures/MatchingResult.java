@@ -0,0 +1,29 @@
+package de.di.schema_matching.structures;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A MatchingResult holds the evaluation of the matching of one source and target relation of a scenario against
+ * their ground truth.
+ */
+@Getter
+@AllArgsConstructor
+public class MatchingResult {
+
+    private final String sourceName;
+
+    private final String targetName;
+
+    private final double rocScore;
+
+    private final double prScore;
+
+    // The runtime of the first- and second-line matching in milliseconds, without loading the relations
+    private final long matchingTime;
+
+    @Override
+    public String toString() {
+        return this.sourceName + " -> " + this.targetName + ":\tROC-AUC " + this.rocScore + ", PR-AUC " + this.prScore + ", " + this.matchingTime + " ms";
+    }
+}
@@ -0,0 +1,31 @@
+package de.di.schema_matching.structures;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A ScenarioResult aggregates the matching results of all relation pairs of a scenario.
+ */
+@Getter
+@AllArgsConstructor
+public class ScenarioResult {
+
+    private final String name;
+
+    private final List<MatchingResult> matchingResults;
+
+    public double meanRocScore() {
+        return this.matchingResults.stream().mapToDouble(MatchingResult::getRocScore).average().orElse(Double.NaN);
+    }
+
+    public double meanPrScore() {
+        return this.matchingResults.stream().mapToDouble(MatchingResult::getPrScore).average().orElse(Double.NaN);
+    }
+
+    @Override
+    public String toString() {
+        return this.name + ":\t" + this.matchingResults.size() + " pairs, mean ROC-AUC " + this.meanRocScore() + ", mean PR-AUC " + this.meanPrScore();
+    }
+}
@@ -0,0 +1,184 @@
+package de.di.schema_matching.structures;
+
+import de.di.Relation;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A SparseSimilarityMatrix stores only the relevant cells of a similarity matrix in compressed sparse row (CSR)
+ * format: the stored cells of row i are at the positions rowOffsets[i] to rowOffsets[i + 1] - 1 of the columnIndices
+ * and values arrays, sorted by column. All other cells have the similarity 0. A matrix can be restricted to the top-k
+ * cells per row and to cells above a minimum similarity, which bounds its size by numRows * k instead of
+ * numRows * numColumns; the values are stored as floats to halve their size once more.
+ */
+@Getter
+public class SparseSimilarityMatrix {
+
+    private final int numRows;
+
+    private final int numColumns;
+
+    private final int[] rowOffsets;
+
+    private final int[] columnIndices;
+
+    private final float[] values;
+
+    private final Relation sourceRelation;
+
+    private final Relation targetRelation;
+
+    public SparseSimilarityMatrix(final int numColumns, final int[] rowOffsets, final int[] columnIndices, final float[] values,
+                                  final Relation sourceRelation, final Relation targetRelation) {
+        this.numRows = rowOffsets.length - 1;
+        this.numColumns = numColumns;
+        this.rowOffsets = rowOffsets;
+        this.columnIndices = columnIndices;
+        this.values = values;
+        this.sourceRelation = sourceRelation;
+        this.targetRelation = targetRelation;
+    }
+
+    /**
+     * Assembles a sparse matrix from the selected cells of every row, e.g., of rows that a matcher calculates and
+     * selects one at a time, so that the dense matrix never exists as a whole.
+     * @param numColumns The number of columns.
+     * @param rowColumns The ascending columns of the stored cells of every row.
+     * @param rowValues The similarities of the stored cells of every row.
+     * @return The sparse matrix.
+     */
+    public static SparseSimilarityMatrix fromRows(int numColumns, int[][] rowColumns, float[][] rowValues, Relation sourceRelation, Relation targetRelation) {
+        int numRows = rowColumns.length;
+        int[] rowOffsets = new int[numRows + 1];
+        for (int i = 0; i < numRows; i++)
+            rowOffsets[i + 1] = rowOffsets[i] + rowColumns[i].length;
+
+        int[] columnIndices = new int[rowOffsets[numRows]];
+        float[] values = new float[rowOffsets[numRows]];
+        for (int i = 0; i < numRows; i++) {
+            System.arraycopy(rowColumns[i], 0, columnIndices, rowOffsets[i], rowColumns[i].length);
+            System.arraycopy(rowValues[i], 0, values, rowOffsets[i], rowValues[i].length);
+        }
+        return new SparseSimilarityMatrix(numColumns, rowOffsets, columnIndices, values, sourceRelation, targetRelation);
+    }
+
+    /**
+     * Creates a sparse matrix from a dense similarity matrix.
+     * @param matrix The dense similarity matrix.
+     * @param topK The maximum number of cells to keep per row.
+     * @param minSimilarity The similarity that a cell must exceed to be kept.
+     * @return The sparse matrix.
+     */
+    public static SparseSimilarityMatrix of(SimilarityMatrix matrix, int topK, double minSimilarity) {
+        double[][] rows = matrix.getMatrix();
+        int[][] rowColumns = new int[rows.length][];
+        float[][] rowValues = new float[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            rowColumns[i] = selectRow(rows[i], topK, minSimilarity);
+            rowValues[i] = valuesOf(rows[i], rowColumns[i]);
+        }
+        int numColumns = (rows.length == 0) ? 0 : rows[0].length;
+        return fromRows(numColumns, rowColumns, rowValues, matrix.getSourceRelation(), matrix.getTargetRelation());
+    }
+
+    /**
+     * Selects the columns of the at most topK largest similarities of a row that exceed the minimum similarity.
+     * @param row The similarities of the row.
+     * @param topK The maximum number of cells to keep; ties are broken by the lower column index.
+     * @param minSimilarity The similarity that a cell must exceed to be kept.
+     * @return The selected columns in ascending order.
+     */
+    public static int[] selectRow(double[] row, int topK, double minSimilarity) {
+        int numCandidates = 0;
+        int[] candidates = new int[row.length];
+        for (int j = 0; j < row.length; j++)
+            if (row[j] > minSimilarity)
+                candidates[numCandidates++] = j;
+
+        if (numCandidates > topK) {
+            IntArrays.quickSort(candidates, 0, numCandidates, (j1, j2) -> {
+                int valueComparison = Double.compare(row[j2], row[j1]);
+                return (valueComparison != 0) ? valueComparison : Integer.compare(j1, j2);
+            });
+            numCandidates = topK;
+        }
+        int[] selected = Arrays.copyOf(candidates, numCandidates);
+        Arrays.sort(selected);
+        return selected;
+    }
+
+    /**
+     * Collects the similarities of the selected columns of a row as floats.
+     * @param row The similarities of the row.
+     * @param columns The selected columns.
+     * @return The similarities of the selected columns.
+     */
+    public static float[] valuesOf(double[] row, int[] columns) {
+        float[] values = new float[columns.length];
+        for (int k = 0; k < columns.length; k++)
+            values[k] = (float) row[columns[k]];
+        return values;
+    }
+
+    /**
+     * Returns the similarity of a cell; cells that are not stored have the similarity 0.
+     * @param row The row of the cell.
+     * @param column The column of the cell.
+     * @return The similarity of the cell.
+     */
+    public double get(int row, int column) {
+        int position = Arrays.binarySearch(this.columnIndices, this.rowOffsets[row], this.rowOffsets[row + 1], column);
+        return (position >= 0) ? this.values[position] : 0;
+    }
+
+    public int numStoredCells() {
+        return this.values.length;
+    }
+
+    /**
+     * Estimates the number of heap bytes of the offsets, column indices, and values.
+     * @return The estimated size in bytes.
+     */
+    public long estimatedSize() {
+        return 4L * this.rowOffsets.length + 8L * this.values.length;
+    }
+
+    /**
+     * Expands this matrix into a dense similarity matrix, e.g., for small matrices and matchers without sparse support.
+     * @return The dense similarity matrix.
+     */
+    public SimilarityMatrix toSimilarityMatrix() {
+        double[][] matrix = new double[this.numRows][this.numColumns];
+        for (int i = 0; i < this.numRows; i++)
+            for (int k = this.rowOffsets[i]; k < this.rowOffsets[i + 1]; k++)
+                matrix[i][this.columnIndices[k]] = this.values[k];
+        return new SimilarityMatrix(matrix, this.sourceRelation, this.targetRelation);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || this.getClass() != o.getClass())
+            return false;
+        SparseSimilarityMatrix that = (SparseSimilarityMatrix) o;
+        return this.numColumns == that.getNumColumns() &&
+                Arrays.equals(this.rowOffsets, that.getRowOffsets()) &&
+                Arrays.equals(this.columnIndices, that.getColumnIndices()) &&
+                Arrays.equals(this.values, that.getValues()) &&
+                Objects.equals(this.sourceRelation, that.getSourceRelation()) &&
+                Objects.equals(this.targetRelation, that.getTargetRelation());
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(this.numColumns, this.sourceRelation, this.targetRelation);
+        result = 31 * result + Arrays.hashCode(this.rowOffsets);
+        result = 31 * result + Arrays.hashCode(this.columnIndices);
+        result = 31 * result + Arrays.hashCode(this.values);
+        return result;
+    }
+}
@@ -8,8 +8,12 @@ public class MinHash {
     // The comparator for the MinHashing; the comparator defines the sortation for this token-based minhash function
     private final Comparator<String> comparator;
 
+    // The seed of the hash permutation for the fingerprint-based MinHashing
+    private final long seed;
+
     public MinHash(int sortByPosition) {
         this.comparator = this.createComparatorFor(sortByPosition);
+        this.seed = 0x9e3779b97f4a7c15L * (sortByPosition + 1);
     }
 
     public String hash(final String[] strings) {
@@ -21,6 +25,28 @@ public class MinHash {
                 .orElseThrow();
     }
 
+    /**
+     * Calculates the MinHash of a set of 64-bit value fingerprints: every fingerprint is permuted with a bit mixer that
+     * is seeded by this MinHash function's position, and the smallest permuted value is the hash. For two sets, the
+     * probability that their MinHashes are equal is their Jaccard similarity.
+     * @param fingerprints The fingerprints of the set's values.
+     * @return The smallest permuted fingerprint or Long.MAX_VALUE for an empty set.
+     */
+    public long hash(final long[] fingerprints) {
+        long min = Long.MAX_VALUE;
+        for (long fingerprint : fingerprints) {
+            long hash = fingerprint ^ this.seed;
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            if (hash < min)
+                min = hash;
+        }
+        return min;
+    }
+
     private Comparator<String> createComparatorFor(int sortByPosition) {
         return (o1, o2) -> {
             int i = sortByPosition;
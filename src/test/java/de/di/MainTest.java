@@ -31,6 +31,10 @@ public class MainTest {
         Main.main(args);
         System.out.println();
 
+        args = new String[]{"FDProfiler", "--input", "data" + s + "data_profiling", "--hasHeader", "true", "--separator", ";"};
+        Main.main(args);
+        System.out.println();
+
         args = new String[]{"FirstLineSchemaMatcher", "--scenarioPath", "data" + s + "schema_matching" + s + "fdb1_mb2"};
         Main.main(args);
         System.out.println();
@@ -39,6 +43,10 @@ public class MainTest {
         Main.main(args);
         System.out.println();
 
+        args = new String[]{"SchemaMatchingScenarios", "--scenariosPath", "data" + s + "schema_matching"};
+        Main.main(args);
+        System.out.println();
+
         args = new String[]{"DuplicateDetection", "--inputFile", "data" + s + "duplicate_detection" + s + "cd.csv", "--hasHeader", "true", "--separator", ";", "--sortingKeys", "0,1", "--windowSize", "3"};
         Main.main(args);
         System.out.println();
@@ -0,0 +1,53 @@
+package de.di.data_profiling;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.IND;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BinderINDProfilerTest {
+
+    private static List<Relation> readRelations() {
+        List<Relation> relations = new ArrayList<>();
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "abcde.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "abcdefghi.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "tpch_nation.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "tpch_region.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "tpch_supplier.csv"));
+        return relations;
+    }
+
+    @Test
+    public void testCorrectnessInMemory() {
+        List<Relation> relations = readRelations();
+        BinderINDProfiler profiler = new BinderINDProfiler(Long.MAX_VALUE);
+
+        List<IND> inds = profiler.profile(relations);
+        assertEquals(1, profiler.getNumBuckets());
+        assertEquals(211, inds.size());
+        assertEquals(new INDProfiler().profile(relations, false), inds);
+    }
+
+    @Test
+    public void testCorrectnessWithBuckets() {
+        List<Relation> relations = readRelations();
+        BinderINDProfiler profiler = new BinderINDProfiler(32 * 1024);
+
+        List<IND> inds = profiler.profile(relations);
+        assertTrue(profiler.getNumBuckets() > 1);
+        assertTrue(profiler.getPeakResidentSize() <= profiler.getMemoryBudget());
+        assertEquals(new INDProfiler().profile(relations, false), inds);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooSmallBudgetIsRejected() {
+        // One byte would need a bucket per byte of distinct values, which exceeds the maximum number of buckets
+        new BinderINDProfiler(1).profile(readRelations());
+    }
+}
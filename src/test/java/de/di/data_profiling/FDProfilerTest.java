@@ -0,0 +1,81 @@
+package de.di.data_profiling;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.AttributeList;
+import de.di.data_profiling.structures.FD;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+public class FDProfilerTest {
+
+    @Test
+    public void testCorrectness_abcde() {
+        this.runTestFor("abcde.csv");
+    }
+
+    @Test
+    public void testCorrectness_abcdefghi() {
+        this.runTestFor("abcdefghi.csv");
+    }
+
+    @Test
+    public void testCorrectness_tpch_nation() {
+        this.runTestFor("tpch_nation.csv");
+    }
+
+    @Test
+    public void testCorrectness_tpch_region() {
+        this.runTestFor("tpch_region.csv");
+    }
+
+    private void runTestFor(String fileName) {
+        Relation relation = new Relation("data" + File.separator + "data_profiling" + File.separator + fileName);
+
+        List<FD> fds = new FDProfiler().profile(relation);
+        assertEquals(this.naiveMinimalFDs(relation), new HashSet<>(fds));
+        assertEquals(fds.size(), new HashSet<>(fds).size());
+    }
+
+    private Set<FD> naiveMinimalFDs(Relation relation) {
+        int numAttributes = relation.getAttributes().length;
+        Set<FD> fds = new HashSet<>();
+        for (int rhs = 0; rhs < numAttributes; rhs++) {
+            List<Integer> validLhss = new ArrayList<>();
+            for (int lhs = 0; lhs < (1 << numAttributes); lhs++) {
+                if ((lhs & (1 << rhs)) != 0 || !this.holds(relation, lhs, rhs))
+                    continue;
+                boolean minimal = true;
+                for (int validLhs : validLhss)
+                    if ((validLhs & lhs) == validLhs)
+                        minimal = false;
+                if (minimal)
+                    validLhss.add(lhs);
+            }
+            for (int lhs : validLhss)
+                fds.add(new FD(relation, new AttributeList(this.toArray(lhs, numAttributes)), rhs));
+        }
+        return fds;
+    }
+
+    private boolean holds(Relation relation, int lhs, int rhs) {
+        int[] lhsAttributes = this.toArray(lhs, relation.getAttributes().length);
+        Map<List<String>, String> mapping = new HashMap<>();
+        for (String[] record : relation.getRecords()) {
+            List<String> lhsValues = new ArrayList<>();
+            for (int attribute : lhsAttributes)
+                lhsValues.add(record[attribute]);
+            String rhsValue = mapping.putIfAbsent(lhsValues, record[rhs]);
+            if (rhsValue != null && !rhsValue.equals(record[rhs]))
+                return false;
+        }
+        return true;
+    }
+
+    private int[] toArray(int bits, int numAttributes) {
+        return java.util.stream.IntStream.range(0, numAttributes).filter(a -> (bits & (1 << a)) != 0).toArray();
+    }
+}
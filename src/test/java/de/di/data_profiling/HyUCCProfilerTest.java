@@ -0,0 +1,41 @@
+package de.di.data_profiling;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.UCC;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class HyUCCProfilerTest {
+
+    @Test
+    public void testCorrectness_abcde() {
+        this.runTestFor("abcde.csv");
+    }
+
+    @Test
+    public void testCorrectness_abcdefghi() {
+        this.runTestFor("abcdefghi.csv");
+    }
+
+    @Test
+    public void testCorrectness_tpch_nation() {
+        this.runTestFor("tpch_nation.csv");
+    }
+
+    @Test
+    public void testCorrectness_tpch_supplier() {
+        this.runTestFor("tpch_supplier.csv");
+    }
+
+    private void runTestFor(String fileName) {
+        Relation relation = new Relation("data" + File.separator + "data_profiling" + File.separator + fileName);
+
+        List<UCC> expectedUccs = new UCCProfiler().profile(relation);
+        List<UCC> uccs = new HyUCCProfiler().profile(relation);
+        assertEquals(expectedUccs, uccs);
+    }
+}
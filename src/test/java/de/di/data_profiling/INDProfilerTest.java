@@ -1,6 +1,7 @@
 package de.di.data_profiling;
 
 import de.di.Relation;
+import de.di.data_profiling.structures.AttributeList;
 import de.di.data_profiling.structures.IND;
 import org.junit.Test;
 
@@ -9,6 +10,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class INDProfilerTest {
 
@@ -24,5 +27,75 @@ public class INDProfilerTest {
 
         List<IND> inds = profiler.profile(relations, false);
         assertEquals(211, inds.size());
+        assertEquals(new SpiderINDProfiler().profile(relations), inds);
+    }
+
+    @Test
+    public void testCandidatePruning() {
+        Relation relation = new Relation("pruning", new String[]{"id", "name", "code", "ref"}, new String[][]{
+                {"1", "x", "10", "1"},
+                {"2", "y", "20", "1"},
+                {"3", "z", "30", "2"}
+        });
+        INDProfiler profiler = new INDProfiler();
+
+        List<IND> inds = profiler.profile(List.of(relation), false);
+        assertEquals(List.of(new IND(relation, 3, relation, 0)), inds);
+
+        // 12 candidates; only ref <= id survives, the others fail a statistics filter or the fingerprint comparison
+        int numPruned = profiler.getNumPrunedCandidates().values().stream().mapToInt(Integer::intValue).sum();
+        assertEquals(11, numPruned);
+        assertEquals(2, (int) profiler.getNumPrunedCandidates().get(INDProfiler.CandidateFilter.TYPE));
+    }
+
+    @Test
+    public void testNoFalseINDsFromHashCollisions() {
+        // "Aa" and "BB" have the same String.hashCode()
+        Relation relation = new Relation("collisions", new String[]{"a", "b"}, new String[][]{{"Aa", "BB"}, {"Aa", "BB"}});
+
+        List<IND> inds = new INDProfiler().profile(List.of(relation), false);
+        assertTrue(inds.isEmpty());
+    }
+
+    @Test
+    public void testParallelOrderMatchesSequential() {
+        List<Relation> relations = new ArrayList<>();
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "abcdefghi.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "tpch_nation.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "tpch_supplier.csv"));
+
+        assertEquals(new INDProfiler(1).profile(relations, false), new INDProfiler(4).profile(relations, false));
+    }
+
+    @Test
+    public void testNaryINDs() {
+        Relation orders = new Relation("orders", new String[]{"customer", "country", "amount"}, new String[][]{
+                {"1", "de", "10"},
+                {"2", "fr", "20"},
+                {"1", "de", "30"}
+        });
+        Relation customers = new Relation("customers", new String[]{"id", "country", "name"}, new String[][]{
+                {"1", "de", "x"},
+                {"2", "fr", "y"},
+                {"3", "de", "z"}
+        });
+        Relation swapped = new Relation("swapped", new String[]{"id", "country"}, new String[][]{
+                {"1", "fr"},
+                {"2", "de"}
+        });
+        List<Relation> relations = List.of(orders, customers, swapped);
+
+        List<IND> inds = new INDProfiler().profile(relations, true);
+        IND compositeKey = new IND(orders, new AttributeList(new int[]{0, 1}), customers, new AttributeList(new int[]{0, 1}));
+        IND swappedKey = new IND(orders, new AttributeList(new int[]{0, 1}), swapped, new AttributeList(new int[]{0, 1}));
+        assertTrue(inds.contains(compositeKey));
+        assertFalse(inds.contains(swappedKey));
+        for (IND ind : inds)
+            assertTrue(ind.getLhsAttributes().size() <= 2);
+
+        // Unary INDs come first, and the maximum arity bounds the search
+        List<IND> unaryInds = new INDProfiler().profile(relations, false);
+        assertEquals(unaryInds, inds.subList(0, unaryInds.size()));
+        assertEquals(unaryInds, new INDProfiler(2, 1).profile(relations, true));
     }
 }
@@ -0,0 +1,51 @@
+package de.di.data_profiling;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.UCC;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class IncrementalUCCProfilerTest {
+
+    @Test
+    public void testCorrectness_abcdefghi() {
+        this.runTestFor("abcdefghi.csv", 2);
+    }
+
+    @Test
+    public void testCorrectness_tpch_nation() {
+        this.runTestFor("tpch_nation.csv", 10);
+    }
+
+    @Test
+    public void testCorrectness_tpch_supplier() {
+        this.runTestFor("tpch_supplier.csv", 2500);
+    }
+
+    private void runTestFor(String fileName, int batchSize) {
+        Relation relation = new Relation("data" + File.separator + "data_profiling" + File.separator + fileName);
+        String[][] records = relation.getRecords();
+
+        Relation initialRelation = new Relation(relation.getName(), relation.getAttributes(), Arrays.copyOf(records, batchSize));
+        IncrementalUCCProfiler profiler = new IncrementalUCCProfiler(initialRelation);
+
+        List<UCC> uccs = profiler.getUniques();
+        for (int from = batchSize; from < records.length; from += batchSize) {
+            uccs = profiler.append(Arrays.copyOfRange(records, from, Math.min(from + batchSize, records.length)));
+
+            Relation grownRelation = new Relation(relation.getName(), relation.getAttributes(), Arrays.copyOf(records, Math.min(from + batchSize, records.length)));
+            assertEquals(attributeListsOf(new HyUCCProfiler().profile(grownRelation)), attributeListsOf(uccs));
+        }
+        assertEquals(attributeListsOf(new UCCProfiler().profile(relation)), attributeListsOf(uccs));
+    }
+
+    private List<String> attributeListsOf(List<UCC> uccs) {
+        return uccs.stream().map(ucc -> ucc.getAttributeList().toString()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,60 @@
+package de.di.data_profiling;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.IND;
+import de.di.data_profiling.structures.PartialIND;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class PartialINDProfilerTest {
+
+    @Test
+    public void testDirtyForeignKey() {
+        String[][] orderRecords = new String[100][];
+        for (int i = 0; i < 100; i++)
+            orderRecords[i] = new String[]{"o" + i, (i < 95) ? String.valueOf(i) : "unknown" + i};
+        String[][] customerRecords = new String[200][];
+        for (int i = 0; i < 200; i++)
+            customerRecords[i] = new String[]{String.valueOf(i), "name" + i};
+        Relation orders = new Relation("orders", new String[]{"id", "customer"}, orderRecords);
+        Relation customers = new Relation("customers", new String[]{"id", "name"}, customerRecords);
+
+        List<PartialIND> partialInds = new PartialINDProfiler(0.9, true).profile(List.of(orders, customers));
+        assertEquals(1, partialInds.size());
+        assertEquals(new IND(orders, 1, customers, 0), partialInds.get(0).getInd());
+        assertEquals(0.95, partialInds.get(0).getContainment(), 0.0);
+        assertTrue(partialInds.get(0).isVerified());
+
+        // Without verification, the containment is only estimated from the signatures and therefore noisy
+        PartialIND estimatedInd = new PartialINDProfiler(0.75, false).profile(List.of(orders, customers)).stream()
+                .filter(partialInd -> partialInd.getInd().equals(new IND(orders, 1, customers, 0)))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0.95, estimatedInd.getContainment(), 0.2);
+        assertFalse(estimatedInd.isVerified());
+    }
+
+    @Test
+    public void testExactINDsAreFound() {
+        List<Relation> relations = new ArrayList<>();
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "abcde.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "abcdefghi.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "tpch_nation.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "tpch_region.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "tpch_supplier.csv"));
+
+        List<IND> exactInds = new INDProfiler().profile(relations, false);
+        List<IND> partialInds = new PartialINDProfiler(1.0, true).profile(relations).stream()
+                .map(PartialIND::getInd)
+                .collect(Collectors.toList());
+
+        // Verified results are exact, and the LSH threshold is chosen low enough to find all of them
+        assertEquals(exactInds, partialInds);
+    }
+}
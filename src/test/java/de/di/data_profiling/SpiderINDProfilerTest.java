@@ -0,0 +1,42 @@
+package de.di.data_profiling;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.IND;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpiderINDProfilerTest {
+
+    @Test
+    public void testCorrectness() {
+        List<Relation> relations = new ArrayList<>();
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "abcde.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "abcdefghi.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "tpch_nation.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "tpch_region.csv"));
+        relations.add(new Relation("data" + File.separator + "data_profiling" + File.separator + "tpch_supplier.csv"));
+
+        List<IND> inds = new SpiderINDProfiler().profile(relations);
+        assertEquals(211, inds.size());
+        assertEquals(new INDProfiler().profile(relations, false), inds);
+    }
+
+    @Test
+    public void testEmptyAndQuotedValues() {
+        Relation relation = new Relation("r", new String[]{"a", "b", "c"}, new String[][]{
+                {"1", "\"1\"", "x"},
+                {"2", " 2 ", "y"},
+                {"2", "3", "x"}
+        });
+
+        List<IND> inds = new SpiderINDProfiler().profile(List.of(relation));
+        assertEquals(new INDProfiler().profile(List.of(relation), false), inds);
+        assertEquals(1, inds.size());
+        assertEquals(new IND(relation, 0, relation, 1), inds.get(0));
+    }
+}
@@ -2,14 +2,19 @@ package de.di.data_profiling;
 
 import de.di.Relation;
 import de.di.data_profiling.structures.AttributeList;
+import de.di.data_profiling.structures.PositionListIndex;
 import de.di.data_profiling.structures.UCC;
 import org.junit.Test;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class UCCProfilerTest {
 
@@ -76,4 +81,74 @@ public class UCCProfilerTest {
         expectedUccs.add(new UCC(relation, new AttributeList(new int[]{3})));
         assertEquals(expectedUccs, uccs);
     }
+
+    @Test
+    public void testCorrectnessWithSpilling_abcdefghi() {
+        Relation relation = new Relation("data" + File.separator + "data_profiling" + File.separator + "abcdefghi.csv");
+
+        // A budget of zero bytes spills every PLI except the most recently used one
+        assertEquals(new UCCProfiler().profile(relation), new UCCProfiler(0).profile(relation));
+    }
+
+    @Test
+    public void testCorrectnessWithEquivalentAttributes_abcde() {
+        Relation relation = new Relation("data" + File.separator + "data_profiling" + File.separator + "abcde.csv");
+
+        // Append a relabelled copy of attribute a, which has the same partition as a
+        String[] attributes = Arrays.copyOf(relation.getAttributes(), 6);
+        attributes[5] = "a2";
+        String[][] records = new String[relation.getRecords().length][];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = Arrays.copyOf(relation.getRecords()[i], 6);
+            records[i][5] = "code-" + records[i][0];
+        }
+        Relation extendedRelation = new Relation("abcdea2", attributes, records);
+
+        List<UCC> uccs = new UCCProfiler().profile(extendedRelation);
+        assertEquals(7, uccs.size());
+
+        List<UCC> expectedUccs = new ArrayList<>(7);
+        expectedUccs.add(new UCC(extendedRelation, new AttributeList(new int[]{0, 1})));
+        expectedUccs.add(new UCC(extendedRelation, new AttributeList(new int[]{1, 5})));
+        expectedUccs.add(new UCC(extendedRelation, new AttributeList(new int[]{0, 2, 4})));
+        expectedUccs.add(new UCC(extendedRelation, new AttributeList(new int[]{1, 2, 4})));
+        expectedUccs.add(new UCC(extendedRelation, new AttributeList(new int[]{1, 3, 4})));
+        expectedUccs.add(new UCC(extendedRelation, new AttributeList(new int[]{2, 3, 4})));
+        expectedUccs.add(new UCC(extendedRelation, new AttributeList(new int[]{2, 4, 5})));
+        assertEquals(expectedUccs, uccs);
+    }
+
+    @Test
+    public void testEquivalenceClassesAndOrdering() {
+        PositionListIndex[] plis = new PositionListIndex[]{
+                new PositionListIndex(new AttributeList(0), new String[]{"a", "a", "b", "b", "c"}),
+                new PositionListIndex(new AttributeList(1), new String[]{"x", "y", "z", "w", "v"}),
+                new PositionListIndex(new AttributeList(2), new String[]{"1", "1", "2", "2", "3"}),
+                new PositionListIndex(new AttributeList(3), new String[]{"a", "a", "a", "b", "b"}),
+                new PositionListIndex(new AttributeList(4), new String[]{"1", "2", "3", "4", "5"})
+        };
+
+        List<int[]> classes = UCCProfiler.findEquivalenceClasses(plis);
+        assertEquals(3, classes.size());
+        assertArrayEquals(new int[]{1, 4}, classes.get(0));
+        assertArrayEquals(new int[]{0, 2}, classes.get(1));
+        assertArrayEquals(new int[]{3}, classes.get(2));
+    }
+
+    @Test
+    public void testDuplicateRecords() {
+        String[][] records = new String[][]{{"1", "a"}, {"2", "b"}, {"1", "a"}};
+        Relation relation = new Relation("duplicates", new String[]{"x", "y"}, records);
+
+        PositionListIndex[] plis = PositionListIndex.buildAll(relation.getColumns());
+        assertTrue(UCCProfiler.hasDuplicateRecords(plis, UCCProfiler.findEquivalenceClasses(plis)));
+        assertTrue(new UCCProfiler().profile(relation).isEmpty());
+
+        // The records agree pairwise in every attribute, but no two records agree in all attributes
+        records = new String[][]{{"1", "a", "x"}, {"1", "b", "y"}, {"2", "a", "y"}, {"2", "b", "x"}};
+        relation = new Relation("noDuplicates", new String[]{"x", "y", "z"}, records);
+        plis = PositionListIndex.buildAll(relation.getColumns());
+        assertFalse(UCCProfiler.hasDuplicateRecords(plis, UCCProfiler.findEquivalenceClasses(plis)));
+        assertFalse(new UCCProfiler().profile(relation).isEmpty());
+    }
 }
@@ -0,0 +1,53 @@
+package de.di.data_profiling.structures;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AttributeBitSetTest {
+
+    @Test
+    public void testSingleWordOperations() {
+        AttributeBitSet set1 = AttributeBitSet.of(10, 0, 2, 4);
+        AttributeBitSet set2 = AttributeBitSet.of(10, 2, 5);
+
+        assertEquals(AttributeBitSet.of(10, 0, 2, 4, 5), set1.union(set2));
+        assertEquals(AttributeBitSet.of(10, 2), set1.intersect(set2));
+        assertEquals(AttributeBitSet.of(10, 0, 4), set1.minus(set2));
+        assertEquals(7, set1.complement().size());
+        assertTrue(set1.supersetOf(AttributeBitSet.of(10, 0, 4)));
+        assertTrue(set1.supersetOf(set1));
+        assertFalse(set1.supersetOf(set2));
+        assertTrue(AttributeBitSet.of(10, 2).subsetOf(set2));
+        assertEquals(new AttributeList(new int[]{0, 2, 4}), set1.toAttributeList());
+        assertEquals(set1, AttributeBitSet.of(10, new AttributeList(new int[]{4, 0, 2})));
+        assertEquals(set1.hashCode(), AttributeBitSet.of(10, 4, 2, 0).hashCode());
+    }
+
+    @Test
+    public void testMultiWordOperations() {
+        AttributeBitSet set1 = AttributeBitSet.of(200, 1, 63, 64, 130);
+        AttributeBitSet set2 = AttributeBitSet.of(200, 64, 199);
+
+        assertArrayEquals(new int[]{1, 63, 64, 130, 199}, set1.union(set2).toArray());
+        assertEquals(AttributeBitSet.of(200, 64), set1.intersect(set2));
+        assertTrue(set1.with(199).supersetOf(set2.without(64)));
+        assertFalse(set1.supersetOf(set2));
+        assertTrue(set1.intersects(set2));
+        assertEquals(130, set1.nextAttribute(65));
+        assertEquals(-1, set1.nextAttribute(131));
+        assertEquals(200, AttributeBitSet.full(200).size());
+        assertEquals(196, set1.complement().size());
+        assertTrue(AttributeBitSet.empty(200).isEmpty());
+    }
+
+    @Test
+    public void testConsistencyWithAttributeList() {
+        AttributeList list1 = new AttributeList(new int[]{1, 3, 5});
+        AttributeList list2 = new AttributeList(new int[]{0, 3});
+
+        assertEquals(list1.union(list2), AttributeBitSet.of(6, list1).union(AttributeBitSet.of(6, list2)).toAttributeList());
+        assertEquals(list1.supersetOf(list2), AttributeBitSet.of(6, list1).supersetOf(AttributeBitSet.of(6, list2)));
+        assertEquals(list1.supersetOf(new AttributeList(new int[]{5, 1})), AttributeBitSet.of(6, list1).supersetOf(AttributeBitSet.of(6, 5, 1)));
+    }
+}
@@ -0,0 +1,113 @@
+package de.di.data_profiling.structures;
+
+import de.di.Relation;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ColumnStatisticsTest {
+
+    private static ColumnStatistics statisticsOf(String... values) {
+        return ColumnStatistics.of(values);
+    }
+
+    @Test
+    public void testStatistics() {
+        ColumnStatistics statistics = statisticsOf("3", "1", "", "1", "-4.5e2", "1");
+
+        assertEquals(6, statistics.getNumValues());
+        assertEquals(1, statistics.getNumNullOrEmpty());
+        assertEquals(4, statistics.estimatedDistinctValues());
+        assertEquals("", statistics.getMin());
+        assertEquals("3", statistics.getMax());
+        assertEquals(ColumnStatistics.Type.NUMERIC, statistics.getType());
+        assertEquals(Long.valueOf(3), statistics.mostFrequentValues().get("1"));
+        assertEquals("1", statistics.mostFrequentValues().keySet().iterator().next());
+        assertEquals(1, statistics.getLengthHistogram()[0]);
+        assertEquals(4, statistics.getLengthHistogram()[1]);
+        assertEquals(1, statistics.getLengthHistogram()[3]);
+        assertEquals(ColumnStatistics.Type.TEXT, statisticsOf("1", "x").getType());
+        assertTrue(statisticsOf().isEmpty());
+    }
+
+    @Test
+    public void testNecessaryConditionsOfInclusion() {
+        ColumnStatistics dependent = statisticsOf("b", "c");
+        ColumnStatistics referenced = statisticsOf("a", "b", "c", "d");
+        ColumnStatistics outOfRange = statisticsOf("b", "e");
+
+        assertTrue(dependent.rangeWithin(referenced));
+        assertTrue(dependent.bloomFilterWithin(referenced));
+        assertTrue(statisticsOf().rangeWithin(referenced));
+        assertFalse(outOfRange.rangeWithin(referenced));
+        assertFalse(referenced.rangeWithin(statisticsOf()));
+        assertFalse(statisticsOf("x").bloomFilterWithin(statisticsOf()));
+    }
+
+    @Test
+    public void testParallelChunksEqualSinglePass() {
+        String[] values = new String[200000];
+        for (int i = 0; i < values.length; i++)
+            values[i] = (i % 10 == 0) ? "frequent" : String.valueOf(i % 50000);
+
+        ColumnStatistics merged = ColumnStatistics.of(values);
+        ColumnStatistics sequential = new ColumnStatistics();
+        for (String value : values)
+            sequential.add(value);
+        sequential.compactBloomFilter();
+
+        assertEquals(sequential.getNumValues(), merged.getNumValues());
+        assertEquals(sequential.getMin(), merged.getMin());
+        assertEquals(sequential.getMax(), merged.getMax());
+        assertEquals(sequential.getType(), merged.getType());
+        assertArrayEquals(sequential.getLengthHistogram(), merged.getLengthHistogram());
+        assertArrayEquals(sequential.getBloomFilter(), merged.getBloomFilter());
+        assertEquals(sequential.estimatedDistinctValues(), merged.estimatedDistinctValues());
+        assertEquals("frequent", merged.mostFrequentValues().keySet().iterator().next());
+
+        // HyperLogLog with 4096 registers has a standard error of about 1.6%
+        assertEquals(45001, merged.estimatedDistinctValues(), 45001 * 0.05);
+    }
+
+    @Test
+    public void testBloomFilterSizedFromDistinctValues() {
+        String[] numbers = new String[20000];
+        String[] words = new String[20000];
+        String[] someNumbers = new String[10000];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = String.valueOf(i);
+            words[i] = "x" + i;
+            if (i < someNumbers.length)
+                someNumbers[i] = String.valueOf(2 * i);
+        }
+        ColumnStatistics numberStatistics = statisticsOf(numbers);
+        ColumnStatistics few = statisticsOf("1", "2", "3");
+
+        // A filter of 1024 bits would be saturated by 20000 values, so that it could refute neither candidate
+        assertTrue(numberStatistics.getBloomFilter().length > few.getBloomFilter().length);
+        assertTrue(statisticsOf(someNumbers).bloomFilterWithin(numberStatistics));
+        assertFalse(statisticsOf(words).bloomFilterWithin(numberStatistics));
+        assertTrue(few.bloomFilterWithin(numberStatistics));
+        assertTrue(few.mayShareValuesWith(numberStatistics));
+        assertTrue(numberStatistics.mayShareValuesWith(few));
+    }
+
+    @Test
+    public void testCachedOnRelation() {
+        Relation relation = new Relation("r", new String[]{"a", "b"}, new String[][]{{"1", "x"}, {"2", "x"}});
+
+        ColumnStatistics statistics = relation.getColumnStatistics(1);
+        assertSame(statistics, relation.getColumnStatistics(1));
+        assertEquals(ColumnStatistics.Type.TEXT, statistics.getType());
+        assertEquals(ColumnStatistics.Type.NUMERIC, relation.getColumnStatistics(0).getType());
+    }
+
+    @Test
+    public void testMayShareValues() {
+        ColumnStatistics letters = statisticsOf("a", "b", "c");
+
+        assertTrue(letters.mayShareValuesWith(statisticsOf("c", "d")));
+        assertFalse(letters.mayShareValuesWith(statisticsOf("x", "y")));
+        assertFalse(letters.mayShareValuesWith(statisticsOf()));
+    }
+}
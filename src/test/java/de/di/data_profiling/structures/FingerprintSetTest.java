@@ -0,0 +1,38 @@
+package de.di.data_profiling.structures;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FingerprintSetTest {
+
+    @Test
+    public void testDistinctSortedFingerprints() {
+        FingerprintSet set = new FingerprintSet(new String[]{"b", "a", "b", "c", "a"});
+
+        assertEquals(3, set.size());
+        long[] fingerprints = set.getFingerprints();
+        for (int i = 1; i < fingerprints.length; i++)
+            assertTrue(fingerprints[i - 1] < fingerprints[i]);
+    }
+
+    @Test
+    public void testContainsAll() {
+        FingerprintSet set1 = new FingerprintSet(new String[]{"a", "b", "c", "d"});
+        FingerprintSet set2 = new FingerprintSet(new String[]{"d", "b"});
+        FingerprintSet set3 = new FingerprintSet(new String[]{"b", "e"});
+        FingerprintSet empty = new FingerprintSet(new String[0]);
+
+        assertTrue(set1.containsAll(set2));
+        assertTrue(set1.containsAll(set1));
+        assertTrue(set1.containsAll(empty));
+        assertFalse(set2.containsAll(set1));
+        assertFalse(set1.containsAll(set3));
+    }
+
+    @Test
+    public void testNoCollisionForEqualStringHashCodes() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertNotEquals(FingerprintSet.fingerprint("Aa"), FingerprintSet.fingerprint("BB"));
+    }
+}
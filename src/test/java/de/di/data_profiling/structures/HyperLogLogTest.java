@@ -0,0 +1,36 @@
+package de.di.data_profiling.structures;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void testEstimate() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int i = 0; i < 100000; i++)
+            sketch.add(FingerprintSet.fingerprint(String.valueOf(i % 20000)));
+        assertEquals(20000, sketch.estimate(), 20000 * 0.05);
+
+        HyperLogLog small = new HyperLogLog(12);
+        for (int i = 0; i < 10; i++)
+            small.add(FingerprintSet.fingerprint(String.valueOf(i)));
+        assertEquals(10, small.estimate());
+    }
+
+    @Test
+    public void testMergeEqualsUnion() {
+        HyperLogLog sketch1 = new HyperLogLog(10);
+        HyperLogLog sketch2 = new HyperLogLog(10);
+        HyperLogLog union = new HyperLogLog(10);
+        for (int i = 0; i < 5000; i++) {
+            long hash = FingerprintSet.fingerprint("v" + i);
+            (i < 3000 ? sketch1 : sketch2).add(hash);
+            union.add(hash);
+        }
+
+        sketch1.merge(sketch2);
+        assertEquals(union.estimate(), sketch1.estimate());
+    }
+}
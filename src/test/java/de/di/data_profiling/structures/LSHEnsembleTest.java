@@ -0,0 +1,50 @@
+package de.di.data_profiling.structures;
+
+import de.di.similarity_measures.helper.MinHash;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LSHEnsembleTest {
+
+    private static long[] signature(int from, int to) {
+        long[] fingerprints = new long[to - from];
+        for (int i = from; i < to; i++)
+            fingerprints[i - from] = FingerprintSet.fingerprint(String.valueOf(i));
+        long[] signature = new long[128];
+        for (int i = 0; i < signature.length; i++)
+            signature[i] = new MinHash(i).hash(fingerprints);
+        return signature;
+    }
+
+    @Test
+    public void testContainmentQuery() {
+        List<long[]> signatures = new ArrayList<>();
+        signatures.add(signature(0, 1000));     // contains the query
+        signatures.add(signature(0, 50));       // half of the query
+        signatures.add(signature(5000, 6000));  // disjoint with the query
+        signatures.add(signature(10, 90));      // 80 % of the query
+        LSHEnsemble index = new LSHEnsemble(signatures, new int[]{1000, 50, 1000, 80}, 2);
+
+        IntSet candidates = index.query(signature(0, 100), 100, 0.8);
+        assertTrue(candidates.contains(0));
+        assertTrue(candidates.contains(3));
+        assertFalse(candidates.contains(2));
+    }
+
+    @Test
+    public void testEstimateContainment() {
+        long[] query = signature(0, 100);
+
+        assertEquals(1.0, LSHEnsemble.estimateContainment(query, 100, query, 100), 0.0);
+        double contained = LSHEnsemble.estimateContainment(query, 100, signature(0, 200), 200);
+        double halfContained = LSHEnsemble.estimateContainment(query, 100, signature(50, 150), 100);
+        assertEquals(0.5, halfContained, 0.2);
+        assertTrue(contained > halfContained);
+        assertEquals(0.0, LSHEnsemble.estimateContainment(query, 100, signature(5000, 5100), 100), 0.0);
+    }
+}
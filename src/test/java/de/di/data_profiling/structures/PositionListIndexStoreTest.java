@@ -0,0 +1,44 @@
+package de.di.data_profiling.structures;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PositionListIndexStoreTest {
+
+    @Test
+    public void testSpillAndReload() {
+        PositionListIndex pli1 = new PositionListIndex(new AttributeList(new int[]{0}), new String[]{"a", "a", "a", "b", "b", "a"});
+        PositionListIndex pli2 = new PositionListIndex(new AttributeList(new int[]{1}), new String[]{"a", "a", "b", "b", "b", "b"});
+        PositionListIndex pli3 = new PositionListIndex(new AttributeList(new int[]{2}), new String[]{"a", "b", "c", "d", "e", "f"});
+
+        try (PositionListIndexStore store = new PositionListIndexStore(0)) {
+            store.put(pli1);
+            store.put(pli2);
+            store.put(pli3);
+            assertTrue(store.getNumSpills() > 0);
+
+            PositionListIndex reloaded = store.get(new AttributeList(new int[]{0}));
+            assertTrue(store.getNumLoads() > 0);
+            assertEquals(pli1.getClusters(), reloaded.getClusters());
+            assertArrayEquals(pli1.getInvertedClusters(), reloaded.getInvertedClusters());
+            assertEquals(pli1.intersect(pli2).getClusters(), reloaded.intersect(store.get(new AttributeList(new int[]{1}))).getClusters());
+            assertTrue(store.get(new AttributeList(new int[]{2})).isUnique());
+
+            store.remove(new AttributeList(new int[]{1}));
+            assertNull(store.get(new AttributeList(new int[]{1})));
+        }
+    }
+
+    @Test
+    public void testNoSpillWithinBudget() {
+        PositionListIndex pli = new PositionListIndex(new AttributeList(new int[]{0}), new String[]{"a", "a", "b"});
+
+        try (PositionListIndexStore store = new PositionListIndexStore(Long.MAX_VALUE)) {
+            store.put(pli);
+            assertSame(pli, store.get(new AttributeList(new int[]{0})));
+            assertEquals(0, store.getNumSpills());
+            assertEquals(pli.estimatedSize(), store.getResidentSize());
+        }
+    }
+}
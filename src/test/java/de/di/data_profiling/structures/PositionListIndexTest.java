@@ -1,8 +1,11 @@
 package de.di.data_profiling.structures;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
 
 public class PositionListIndexTest {
 
@@ -22,4 +25,82 @@ public class PositionListIndexTest {
         assertEquals(pli4.getClusters(), pli1.intersect(pli2).intersect(pli5).getClusters());
         assertEquals(pli7.getClusters(), pli1.intersect(pli6).intersect(pli3).getClusters());
     }
+
+    @Test
+    public void testCountingSortConstruction() {
+        String[] values = new String[]{"b", "a", "b", "c", "a", "b"};
+        PositionListIndex pli = new PositionListIndex(new AttributeList(new int[]{0}), values);
+
+        assertArrayEquals(new int[]{0, 1, 0, 2, 1, 0}, PositionListIndex.dictionaryEncode(values));
+        assertEquals(Arrays.asList(IntArrayList.wrap(new int[]{0, 2, 5}), IntArrayList.wrap(new int[]{1, 4})), pli.getClusters());
+        assertArrayEquals(new int[]{0, 1, 0, -1, 1, 0}, pli.getInvertedClusters());
+        assertEquals(3, pli.numDistinctValues());
+
+        PositionListIndex codePli = new PositionListIndex(new AttributeList(new int[]{0}), new int[]{2, 0, 2, 1, 0, 2}, 3);
+        assertEquals(Arrays.asList(IntArrayList.wrap(new int[]{1, 4}), IntArrayList.wrap(new int[]{0, 2, 5})), codePli.getClusters());
+        assertTrue(pli.hasSamePartitionAs(codePli));
+    }
+
+    @Test
+    public void testParallelConstruction() {
+        String[][] columns = new String[][]{
+                {"a", "a", "b", "b"},
+                {"x", "y", "z", "w"},
+                {"1", "2", "1", "1"}
+        };
+        PositionListIndex[] plis = PositionListIndex.buildAll(columns);
+
+        assertEquals(3, plis.length);
+        for (int attribute = 0; attribute < columns.length; attribute++) {
+            PositionListIndex expected = new PositionListIndex(new AttributeList(attribute), columns[attribute]);
+            assertEquals(new AttributeList(attribute), plis[attribute].getAttributes());
+            assertEquals(expected.getClusters(), plis[attribute].getClusters());
+        }
+        assertTrue(plis[1].isUnique());
+    }
+
+    @Test
+    public void testUniquenessProbe() {
+        PositionListIndex pli1 = new PositionListIndex(new AttributeList(new int[]{0}), new String[]{"a", "a", "a", "b", "b", "a"});
+        PositionListIndex pli2 = new PositionListIndex(new AttributeList(new int[]{1}), new String[]{"a", "b", "c", "a", "b", "d"});
+        PositionListIndex pli3 = new PositionListIndex(new AttributeList(new int[]{2}), new String[]{"a", "a", "b", "c", "c", "b"});
+
+        assertTrue(pli1.isUniqueWith(pli2));
+        assertTrue(pli2.isUniqueWith(pli1));
+        assertFalse(pli1.isUniqueWith(pli3));
+        assertEquals(pli1.intersect(pli2).isUnique(), pli1.isUniqueWith(pli2));
+        assertEquals(pli1.intersect(pli3).isUnique(), pli1.isUniqueWith(pli3));
+    }
+
+    @Test
+    public void testUniquenessProbeWithSkewedClusters() {
+        // One cluster of 1000 records followed by 500 clusters of two records each
+        int numPairs = 500;
+        String[] skewedValues = new String[4 * numPairs];
+        String[] otherValues = new String[skewedValues.length];
+        for (int r = 0; r < 2 * numPairs; r++) {
+            skewedValues[r] = "big";
+            otherValues[r] = "q" + r;
+        }
+        // Every pair shares one value with a record of the large cluster each, but never two records of a cluster meet
+        for (int k = 0; k < numPairs; k++) {
+            skewedValues[2 * numPairs + 2 * k] = "p" + k;
+            skewedValues[2 * numPairs + 2 * k + 1] = "p" + k;
+            otherValues[2 * numPairs + 2 * k] = "q" + k;
+            otherValues[2 * numPairs + 2 * k + 1] = "q" + (k + numPairs);
+        }
+        PositionListIndex skewedPli = new PositionListIndex(new AttributeList(0), skewedValues);
+        PositionListIndex otherPli = new PositionListIndex(new AttributeList(1), otherValues);
+        assertEquals(numPairs + 1, skewedPli.getClusters().size());
+        assertTrue(skewedPli.isUniqueWith(otherPli));
+        assertTrue(otherPli.isUniqueWith(skewedPli));
+        assertTrue(skewedPli.intersect(otherPli).isUnique());
+
+        // The two records of the last pair now also agree in the other attribute
+        otherValues[otherValues.length - 1] = "q" + (numPairs - 1);
+        otherPli = new PositionListIndex(new AttributeList(1), otherValues);
+        assertFalse(skewedPli.isUniqueWith(otherPli));
+        assertFalse(otherPli.isUniqueWith(skewedPli));
+        assertFalse(skewedPli.intersect(otherPli).isUnique());
+    }
 }
@@ -0,0 +1,51 @@
+package de.di.data_profiling.structures;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+
+import static org.junit.Assert.*;
+
+public class SpaceSavingTest {
+
+    @Test
+    public void testHeavyHittersAreMonitored() {
+        SpaceSaving sketch = new SpaceSaving(3);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("a");
+            if (i % 2 == 0)
+                sketch.add("b");
+            sketch.add("noise" + i);
+        }
+
+        LinkedHashMap<String, Long> frequentValues = sketch.getFrequentValues();
+        assertEquals(3, frequentValues.size());
+        assertTrue(frequentValues.containsKey("a"));
+        assertTrue(frequentValues.get("a") >= 100);
+        assertTrue(frequentValues.get("a") - sketch.getError("a") <= 100);
+    }
+
+    @Test
+    public void testMerge() {
+        SpaceSaving sketch1 = new SpaceSaving(2);
+        SpaceSaving sketch2 = new SpaceSaving(2);
+        sketch1.add("a");
+        sketch1.add("a");
+        sketch1.add("b");
+        sketch2.add("a");
+        sketch2.add("c");
+        sketch2.add("c");
+        sketch2.add("c");
+
+        sketch1.merge(sketch2);
+        LinkedHashMap<String, Long> frequentValues = sketch1.getFrequentValues();
+        assertEquals(2, frequentValues.size());
+        assertEquals(Long.valueOf(3), frequentValues.get("a"));
+        assertEquals(0, sketch1.getError("a"));
+
+        // The full first sketch may have dropped up to one occurrence of c, so its count is an overestimate by one
+        assertEquals(Long.valueOf(4), frequentValues.get("c"));
+        assertEquals(1, sketch1.getError("c"));
+        assertEquals("c", frequentValues.keySet().iterator().next());
+    }
+}
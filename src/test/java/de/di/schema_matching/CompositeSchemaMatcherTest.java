@@ -0,0 +1,67 @@
+package de.di.schema_matching;
+
+import de.di.Relation;
+import de.di.data_profiling.structures.ColumnStatistics;
+import de.di.schema_matching.helper.AUCPR;
+import de.di.schema_matching.helper.AUROC;
+import de.di.schema_matching.structures.CorrespondenceMatrix;
+import de.di.schema_matching.structures.SimilarityMatrix;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class CompositeSchemaMatcherTest {
+
+    private static final String s = File.separator;
+
+    private static Relation load(String scenario, String folder) {
+        String name = scenario.toLowerCase() + "_" + folder + ".csv";
+        return new Relation("data" + s + "schema_matching" + s + scenario + s + folder + s + name, true, ',', StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testInstanceStageAloneEqualsFirstLineMatcher() {
+        Relation sourceRelation = load("Musicians_viewunion", "source");
+        Relation targetRelation = load("Musicians_viewunion", "target");
+
+        CompositeSchemaMatcher matcher = new CompositeSchemaMatcher(0, 0, 1, 0);
+        SimilarityMatrix simMatrix = matcher.match(sourceRelation, targetRelation);
+
+        assertEquals(new FirstLineSchemaMatcher().match(sourceRelation, targetRelation), simMatrix);
+        // The statistics prove for some pairs that they have no common value, so their values are never compared
+        assertTrue(matcher.getNumEvaluatedPairs().get(CompositeSchemaMatcher.Stage.INSTANCE) < 13 * 13);
+    }
+
+    @Test
+    public void testCascadingMatchingQuality() {
+        Relation sourceRelation = load("Musicians_viewunion", "source");
+        Relation targetRelation = load("Musicians_viewunion", "target");
+        Relation groundRelation = new Relation("data" + s + "schema_matching" + s + "Musicians_viewunion" + s + "ground_truth" + s +
+                "musicians_viewunion_source___musicians_viewunion_target.csv", false, ',', StandardCharsets.UTF_8);
+
+        CompositeSchemaMatcher matcher = new CompositeSchemaMatcher();
+        SimilarityMatrix simMatrix = matcher.match(sourceRelation, targetRelation);
+        CorrespondenceMatrix corrMatrix = new CorrespondenceMatrix(groundRelation, sourceRelation, targetRelation);
+
+        assertTrue(new AUROC().run(corrMatrix.getMatrix(), simMatrix.getMatrix()) >= 0.95);
+        assertTrue(new AUCPR().run(corrMatrix.getMatrix(), simMatrix.getMatrix()) >= 0.90);
+        assertEquals(13 * 13, (int) matcher.getNumEvaluatedPairs().get(CompositeSchemaMatcher.Stage.NAME));
+        assertTrue(matcher.getNumEvaluatedPairs().get(CompositeSchemaMatcher.Stage.INSTANCE) < 13 * 13 / 2);
+    }
+
+    @Test
+    public void testStageSimilarities() {
+        CompositeSchemaMatcher matcher = new CompositeSchemaMatcher();
+        assertEquals(1.0, matcher.nameSimilarity("Name", "name"), 0.0);
+        assertTrue(matcher.nameSimilarity("birth_date", "birthdate") > matcher.nameSimilarity("birth_date", "genre"));
+
+        ColumnStatistics years = ColumnStatistics.of(new String[]{"1970", "1985", "2001"});
+        ColumnStatistics otherYears = ColumnStatistics.of(new String[]{"1960", "1999", "2020", "2021"});
+        ColumnStatistics names = ColumnStatistics.of(new String[]{"Nina Simone", "Miles Davis", "Miles Davis"});
+        assertEquals(1.0, CompositeSchemaMatcher.statisticsSimilarity(years, otherYears), 0.0);
+        assertTrue(CompositeSchemaMatcher.statisticsSimilarity(years, names) < 0.5);
+    }
+}
@@ -5,6 +5,9 @@ import de.di.schema_matching.helper.AUCPR;
 import de.di.schema_matching.helper.AUROC;
 import de.di.schema_matching.structures.CorrespondenceMatrix;
 import de.di.schema_matching.structures.SimilarityMatrix;
+import de.di.schema_matching.structures.SparseSimilarityMatrix;
+import de.di.similarity_measures.Jaccard;
+import de.di.similarity_measures.helper.Tokenizer;
 import org.junit.Test;
 
 import java.io.File;
@@ -15,9 +18,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -58,6 +63,73 @@ public class FirstLineSchemaMatcherTest {
         this.runTestFor("Musicians_viewunion", new double[]{0.81}, new double[]{0.60});
     }
 
+    @Test
+    public void testSimilaritiesEqualSetJaccard() {
+        Relation sourceRelation = new Relation("source", new String[]{"a", "b", "c"}, new String[][]{
+                {"x", "", "1"}, {"y", "", "1"}, {"x", "", "2"}});
+        Relation targetRelation = new Relation("target", new String[]{"d", "e"}, new String[][]{
+                {"y", ""}, {"z", ""}, {"1", ""}});
+
+        SimilarityMatrix simMatrix = new FirstLineSchemaMatcher().match(sourceRelation, targetRelation);
+
+        Jaccard jaccard = new Jaccard(new Tokenizer(3, false), false);
+        String[][] sourceColumns = sourceRelation.getColumns();
+        String[][] targetColumns = targetRelation.getColumns();
+        for (int i = 0; i < sourceColumns.length; i++)
+            for (int j = 0; j < targetColumns.length; j++)
+                assertEquals(jaccard.calculate(sourceColumns[i], targetColumns[j]), simMatrix.getMatrix()[i][j], 0.0);
+        assertEquals(1.0 / 4, simMatrix.getMatrix()[0][0], 0.0);
+        assertEquals(1.0, simMatrix.getMatrix()[1][1], 0.0);
+        assertEquals(0.0, simMatrix.getMatrix()[2][1], 0.0);
+
+        // Like the Jaccard measure, two empty columns have a similarity of 0 / 0
+        assertEquals(jaccard.calculate(new String[0], new String[0]), FirstLineSchemaMatcher.jaccard(new int[0], new int[0]), 0.0);
+        assertTrue(Double.isNaN(FirstLineSchemaMatcher.jaccard(new int[0], new int[0])));
+    }
+
+    @Test
+    public void testParallelMatchingIsDeterministic() {
+        String folder = "data" + s + "schema_matching" + s + "Musicians_joinable" + s;
+        Relation sourceRelation = new Relation(this.scanFiles(folder + "source").get(0).toString(), true, ',', StandardCharsets.UTF_8);
+        Relation targetRelation = new Relation(this.scanFiles(folder + "target").get(0).toString(), true, ',', StandardCharsets.UTF_8);
+
+        SimilarityMatrix sequential = new FirstLineSchemaMatcher(1).match(sourceRelation, targetRelation);
+        SimilarityMatrix parallel = new FirstLineSchemaMatcher(4).match(sourceRelation, targetRelation);
+
+        assertEquals(sequential, parallel);
+
+        // A shared pool stays usable after the matching
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            FirstLineSchemaMatcher sharedPoolMatcher = new FirstLineSchemaMatcher(pool);
+            assertEquals(sequential, sharedPoolMatcher.match(sourceRelation, targetRelation));
+            assertEquals(sequential, sharedPoolMatcher.match(sourceRelation, targetRelation));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSparseMatching() {
+        String folder = "data" + s + "schema_matching" + s + "Musicians_unionable" + s;
+        Relation sourceRelation = new Relation(this.scanFiles(folder + "source").get(0).toString(), true, ',', StandardCharsets.UTF_8);
+        Relation targetRelation = new Relation(this.scanFiles(folder + "target").get(0).toString(), true, ',', StandardCharsets.UTF_8);
+        Relation groundRelation = new Relation(this.scanFiles(folder + "ground_truth").get(0).toString(), false, ',', StandardCharsets.UTF_8);
+        int[][] groundTruth = new CorrespondenceMatrix(groundRelation, sourceRelation, targetRelation).getMatrix();
+
+        FirstLineSchemaMatcher matcher = new FirstLineSchemaMatcher();
+        SimilarityMatrix dense = matcher.match(sourceRelation, targetRelation);
+        SparseSimilarityMatrix sparse = matcher.matchSparse(sourceRelation, targetRelation, 3, 0.01);
+        assertEquals(SparseSimilarityMatrix.of(dense, 3, 0.01), sparse);
+        assertTrue(sparse.numStoredCells() <= 3 * dense.getMatrix().length);
+
+        // The sparse evaluation equals the dense evaluation of the expanded sparse matrix
+        double[][] expanded = sparse.toSimilarityMatrix().getMatrix();
+        assertEquals(new AUROC().run(groundTruth, expanded), new AUROC().run(groundTruth, sparse), 1e-9);
+        assertEquals(new AUCPR().run(groundTruth, expanded), new AUCPR().run(groundTruth, sparse), 1e-9);
+        assertTrue(new AUROC().run(groundTruth, sparse) >= 0.94);
+    }
+
     private void runTestFor(String scenario, double[] expectedROC, double[] expectedPR) {
         List<Path> sources = this.scanFiles("data" + s + "schema_matching" + s + scenario + s + "source");
         List<Path> targets = this.scanFiles("data" + s + "schema_matching" + s + scenario + s + "target");
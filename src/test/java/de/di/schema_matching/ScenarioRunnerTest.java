@@ -0,0 +1,58 @@
+package de.di.schema_matching;
+
+import de.di.schema_matching.structures.MatchingResult;
+import de.di.schema_matching.structures.ScenarioResult;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class ScenarioRunnerTest {
+
+    private static final String s = File.separator;
+
+    @Test
+    public void testAllScenariosLoadEveryFileOnce() {
+        Path scenariosPath = Path.of("data" + s + "schema_matching");
+
+        ScenarioRunner runner = new ScenarioRunner(SecondLineSchemaMatcher.Strategy.HUNGARIAN);
+        List<ScenarioResult> results = runner.runAll(scenariosPath);
+        assertEquals(6, results.size());
+        assertEquals("fdb1_mb2", results.get(5).getName());
+
+        Set<Path> files = new HashSet<>();
+        for (ScenarioResult result : results) {
+            List<Path[]> pairs = ScenarioRunner.findPairs(scenariosPath.resolve(result.getName()));
+            assertEquals(pairs.size(), result.getMatchingResults().size());
+            for (Path[] pair : pairs)
+                files.addAll(List.of(pair));
+        }
+        assertEquals(files.size(), runner.getNumLoadedFiles());
+    }
+
+    @Test
+    public void testParallelRunEqualsSequentialRun() {
+        Path scenariosPath = Path.of("data" + s + "schema_matching");
+
+        List<ScenarioResult> parallelResults = new ScenarioRunner(null, 8).runAll(scenariosPath);
+        List<ScenarioResult> sequentialResults = new ScenarioRunner(null, 1).runAll(scenariosPath);
+        assertEquals(sequentialResults.size(), parallelResults.size());
+        for (int i = 0; i < sequentialResults.size(); i++) {
+            assertEquals(sequentialResults.get(i).getName(), parallelResults.get(i).getName());
+            List<MatchingResult> sequential = sequentialResults.get(i).getMatchingResults();
+            List<MatchingResult> parallel = parallelResults.get(i).getMatchingResults();
+            assertEquals(sequential.size(), parallel.size());
+            for (int j = 0; j < sequential.size(); j++) {
+                assertEquals(sequential.get(j).getSourceName(), parallel.get(j).getSourceName());
+                assertEquals(sequential.get(j).getTargetName(), parallel.get(j).getTargetName());
+                assertEquals(sequential.get(j).getRocScore(), parallel.get(j).getRocScore(), 0.0);
+                assertEquals(sequential.get(j).getPrScore(), parallel.get(j).getPrScore(), 0.0);
+            }
+        }
+    }
+}
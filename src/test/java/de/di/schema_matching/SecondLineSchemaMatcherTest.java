@@ -3,11 +3,17 @@ package de.di.schema_matching;
 import de.di.Relation;
 import de.di.schema_matching.structures.CorrespondenceMatrix;
 import de.di.schema_matching.structures.SimilarityMatrix;
+import de.di.schema_matching.structures.SparseSimilarityMatrix;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class SecondLineSchemaMatcherTest {
 
@@ -48,5 +54,163 @@ public class SecondLineSchemaMatcherTest {
         SecondLineSchemaMatcher matcher = new SecondLineSchemaMatcher();
         CorrespondenceMatrix result = matcher.match(new SimilarityMatrix(simMatrix, sourceRelation, targetRelation));
         assertEquals(expected, result);
+
+        SparseSimilarityMatrix sparseSimMatrix = SparseSimilarityMatrix.of(new SimilarityMatrix(simMatrix, sourceRelation, targetRelation), 5, 0);
+        SparseSimilarityMatrix sparseResult = matcher.match(sparseSimMatrix);
+        assertEquals(expected.getMatrix().length, sparseResult.numStoredCells());
+        for (int i = 0; i < corrMatrix.length; i++)
+            for (int j = 0; j < corrMatrix[i].length; j++)
+                assertEquals(corrMatrix[i][j], sparseResult.get(i, j), 0.0);
+
+        for (SecondLineSchemaMatcher.Strategy strategy : new SecondLineSchemaMatcher.Strategy[]{SecondLineSchemaMatcher.Strategy.GREEDY, SecondLineSchemaMatcher.Strategy.STABLE_MARRIAGE})
+            assertEquals(expected, new SecondLineSchemaMatcher(strategy).match(new SimilarityMatrix(simMatrix, sourceRelation, targetRelation)));
+    }
+
+    @Test
+    public void testGreedyMatching() {
+        // Greedy takes the 0.9 first and leaves only 0.0 for the second row, while the optimum is 0.8 + 0.8
+        double[][] simMatrix = {{0.9, 0.8}, {0.8, 0.0}};
+        assertArrayEquals(new int[][]{{1, 0}, {0, 1}}, SecondLineSchemaMatcher.matchGreedy(simMatrix));
+        assertArrayEquals(new int[][]{{0, 1}, {1, 0}}, new SecondLineSchemaMatcher().match(new SimilarityMatrix(simMatrix, null, null)).getMatrix());
+
+        // With more rows than columns, the least similar rows stay unmatched
+        assertArrayEquals(new int[][]{{0, 1}, {1, 0}, {0, 0}}, SecondLineSchemaMatcher.matchGreedy(new double[][]{{0.1, 0.9}, {0.7, 0.2}, {0.6, 0.3}}));
+    }
+
+    @Test
+    public void testStableMarriageIsStable() {
+        Random random = new Random(11);
+        for (int run = 0; run < 20; run++) {
+            int numRows = 2 + random.nextInt(15);
+            int numCols = 2 + random.nextInt(15);
+            double[][] simMatrix = new double[numRows][numCols];
+            for (int i = 0; i < numRows; i++)
+                for (int j = 0; j < numCols; j++)
+                    simMatrix[i][j] = random.nextDouble();
+
+            int[][] corrMatrix = SecondLineSchemaMatcher.matchStableMarriage(simMatrix);
+            int[] matchColByRow = new int[numRows];
+            int[] matchRowByCol = new int[numCols];
+            Arrays.fill(matchColByRow, -1);
+            Arrays.fill(matchRowByCol, -1);
+            for (int i = 0; i < numRows; i++) {
+                for (int j = 0; j < numCols; j++) {
+                    if (corrMatrix[i][j] == 1) {
+                        assertEquals(-1, matchColByRow[i]);
+                        assertEquals(-1, matchRowByCol[j]);
+                        matchColByRow[i] = j;
+                        matchRowByCol[j] = i;
+                    }
+                }
+            }
+
+            // The matching is as large as possible and has no pair that prefers each other over their partners
+            int numMatches = (int) Arrays.stream(matchColByRow).filter(j -> j != -1).count();
+            assertEquals(Math.min(numRows, numCols), numMatches);
+            for (int i = 0; i < numRows; i++) {
+                for (int j = 0; j < numCols; j++) {
+                    boolean rowPrefers = matchColByRow[i] == -1 || simMatrix[i][j] > simMatrix[i][matchColByRow[i]];
+                    boolean colPrefers = matchRowByCol[j] == -1 || simMatrix[i][j] > simMatrix[matchRowByCol[j]][j];
+                    assertFalse(rowPrefers && colPrefers);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testThresholdMatching() {
+        double[][] simMatrix = {{0.9, 0.6, 0.1}, {0.2, 0.5, 0.4}};
+        SimilarityMatrix similarityMatrix = new SimilarityMatrix(simMatrix, null, null);
+        assertArrayEquals(new int[][]{{1, 1, 0}, {0, 1, 0}}, new SecondLineSchemaMatcher(SecondLineSchemaMatcher.Strategy.THRESHOLD).match(similarityMatrix).getMatrix());
+        assertArrayEquals(new int[][]{{1, 0, 0}, {0, 0, 0}}, new SecondLineSchemaMatcher(SecondLineSchemaMatcher.Strategy.THRESHOLD, 0.8).match(similarityMatrix).getMatrix());
+    }
+
+    @Test
+    public void testSparseAssignmentIsOptimal() {
+        Random random = new Random(42);
+        SecondLineSchemaMatcher matcher = new SecondLineSchemaMatcher();
+        for (int run = 0; run < 20; run++) {
+            int numRows = 2 + random.nextInt(15);
+            int numCols = 2 + random.nextInt(15);
+            Relation sourceRelation = new Relation("S", new String[numRows], new String[0][]);
+            Relation targetRelation = new Relation("T", new String[numCols], new String[0][]);
+
+            // Similarities with few digits, so that their float and double representations have the same optimum
+            double[][] simMatrix = new double[numRows][numCols];
+            for (int i = 0; i < numRows; i++)
+                for (int j = 0; j < numCols; j++)
+                    simMatrix[i][j] = (random.nextInt(3) == 0) ? random.nextInt(64) / 64.0 : 0;
+            SimilarityMatrix dense = new SimilarityMatrix(simMatrix, sourceRelation, targetRelation);
+
+            int[][] denseResult = matcher.match(dense).getMatrix();
+            SparseSimilarityMatrix sparseResult = matcher.match(SparseSimilarityMatrix.of(dense, numCols, 0));
+
+            double denseTotal = 0, sparseTotal = 0;
+            for (int i = 0; i < numRows; i++) {
+                for (int j = 0; j < numCols; j++) {
+                    denseTotal += denseResult[i][j] * simMatrix[i][j];
+                    sparseTotal += sparseResult.get(i, j) * simMatrix[i][j];
+                }
+            }
+            assertEquals(denseTotal, sparseTotal, 1e-9);
+        }
+    }
+
+    @Test
+    public void testAuctionAssignmentIsEpsilonOptimal() {
+        Random random = new Random(7);
+        SecondLineSchemaMatcher matcher = new SecondLineSchemaMatcher();
+        for (int run = 0; run < 20; run++) {
+            int numRows = 2 + random.nextInt(40);
+            int numCols = 2 + random.nextInt(40);
+            Relation sourceRelation = new Relation("S", new String[numRows], new String[0][]);
+            Relation targetRelation = new Relation("T", new String[numCols], new String[0][]);
+
+            double[][] simMatrix = new double[numRows][numCols];
+            for (int i = 0; i < numRows; i++)
+                for (int j = 0; j < numCols; j++)
+                    simMatrix[i][j] = (random.nextInt(3) == 0) ? random.nextInt(64) / 64.0 : 0;
+            SparseSimilarityMatrix sparse = SparseSimilarityMatrix.of(new SimilarityMatrix(simMatrix, sourceRelation, targetRelation), 5, 0);
+
+            double exactTotal = totalSimilarity(sparse, matcher.match(sparse));
+
+            // A coarse epsilon may lose at most numRows * epsilon
+            double epsilon = 0.01;
+            SparseSimilarityMatrix coarseResult = matcher.match(sparse, epsilon);
+            assertNoFreePositiveCell(sparse, coarseResult);
+            assertTrue(totalSimilarity(sparse, coarseResult) >= exactTotal - numRows * epsilon - 1e-9);
+
+            // An epsilon below the similarity granularity of 1/64 divided by numRows is exact
+            SparseSimilarityMatrix fineResult = matcher.match(sparse, 1.0 / 64 / (numRows + 1));
+            assertNoFreePositiveCell(sparse, fineResult);
+            assertEquals(exactTotal, totalSimilarity(sparse, fineResult), 1e-9);
+        }
+    }
+
+    private static double totalSimilarity(SparseSimilarityMatrix similarities, SparseSimilarityMatrix correspondences) {
+        double total = 0;
+        boolean[] usedColumns = new boolean[similarities.getNumColumns()];
+        for (int i = 0; i < correspondences.getNumRows(); i++) {
+            for (int k = correspondences.getRowOffsets()[i]; k < correspondences.getRowOffsets()[i + 1]; k++) {
+                int j = correspondences.getColumnIndices()[k];
+                assertFalse(usedColumns[j]);
+                usedColumns[j] = true;
+                total += similarities.get(i, j);
+            }
+        }
+        return total;
+    }
+
+    // Checks that the assignment is maximal, i.e., that no unmatched row has a positive similarity to an unmatched column
+    private static void assertNoFreePositiveCell(SparseSimilarityMatrix similarities, SparseSimilarityMatrix correspondences) {
+        boolean[] usedColumns = new boolean[similarities.getNumColumns()];
+        for (int k = 0; k < correspondences.numStoredCells(); k++)
+            usedColumns[correspondences.getColumnIndices()[k]] = true;
+        for (int i = 0; i < similarities.getNumRows(); i++) {
+            if (correspondences.getRowOffsets()[i] != correspondences.getRowOffsets()[i + 1])
+                continue;
+            for (int k = similarities.getRowOffsets()[i]; k < similarities.getRowOffsets()[i + 1]; k++)
+                assertFalse(similarities.getValues()[k] > 0 && !usedColumns[similarities.getColumnIndices()[k]]);
+        }
     }
-}
\ No newline at end of file
+}
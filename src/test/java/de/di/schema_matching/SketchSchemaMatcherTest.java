@@ -0,0 +1,84 @@
+package de.di.schema_matching;
+
+import de.di.Relation;
+import de.di.schema_matching.structures.SimilarityMatrix;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class SketchSchemaMatcherTest {
+
+    private static final String s = File.separator;
+
+    @Test
+    public void testEstimateJaccard() {
+        SketchSchemaMatcher matcher = new SketchSchemaMatcher(64);
+        long[] signature = matcher.sketch(new String[]{"a", "b", "c", "a"});
+
+        assertArrayEquals(signature, matcher.sketch(new String[]{"c", "b", "a"}));
+        assertEquals(1.0, SketchSchemaMatcher.estimateJaccard(signature, signature), 0.0);
+        assertEquals(0.0, SketchSchemaMatcher.estimateJaccard(signature, null), 0.0);
+        assertTrue(Double.isNaN(SketchSchemaMatcher.estimateJaccard(null, null)));
+    }
+
+    @Test
+    public void testEstimationErrorOnAllScenarios() {
+        SketchSchemaMatcher sketchMatcher = new SketchSchemaMatcher(256);
+        FirstLineSchemaMatcher exactMatcher = new FirstLineSchemaMatcher();
+
+        for (Path scenario : this.scanScenarios()) {
+            List<Path> sources = this.scanFiles(scenario.resolve("source"));
+            List<Path> targets = this.scanFiles(scenario.resolve("target"));
+            Collections.sort(sources);
+            Collections.sort(targets);
+
+            for (Path source : sources) {
+                for (Path target : targets) {
+                    Path groundTruth = Path.of(source.toString().replaceFirst("source", "ground_truth").replace(".csv", "___") + target.getFileName());
+                    if (!groundTruth.toFile().exists())
+                        continue;
+
+                    Relation sourceRelation = new Relation(source.toString(), true, ',', StandardCharsets.UTF_8);
+                    Relation targetRelation = new Relation(target.toString(), true, ',', StandardCharsets.UTF_8);
+
+                    SimilarityMatrix exact = exactMatcher.match(sourceRelation, targetRelation);
+                    SimilarityMatrix estimated = sketchMatcher.match(sourceRelation, targetRelation);
+
+                    double meanError = SketchSchemaMatcher.meanAbsoluteError(exact, estimated);
+                    double maxError = SketchSchemaMatcher.maxAbsoluteError(exact, estimated);
+                    System.out.println(scenario.getFileName() + " " + source.getFileName() + " -> " + target.getFileName() + ": mean error " + meanError + ", max error " + maxError);
+
+                    assertTrue(meanError < 0.02);
+                    assertTrue(maxError < 0.15);
+                }
+            }
+        }
+    }
+
+    private List<Path> scanScenarios() {
+        try (Stream<Path> paths = Files.list(Paths.get("data" + s + "schema_matching"))) {
+            return paths.filter(Files::isDirectory).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private List<Path> scanFiles(Path folderPath) {
+        try (Stream<Path> paths = Files.walk(folderPath)) {
+            return paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
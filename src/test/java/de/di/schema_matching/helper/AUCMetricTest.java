@@ -0,0 +1,195 @@
+package de.di.schema_matching.helper;
+
+import de.di.Relation;
+import de.di.schema_matching.FirstLineSchemaMatcher;
+import de.di.schema_matching.ScenarioRunner;
+import de.di.schema_matching.structures.CorrespondenceMatrix;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class AUCMetricTest {
+
+    private static final String s = File.separator;
+
+    @Test
+    public void testSortedSimIndicesEqualQuadraticVersion() {
+        Random random = new Random(5);
+        for (int run = 0; run < 50; run++) {
+            int n = 1 + random.nextInt(200);
+            double[] simVector = new double[n];
+            int[] groundTruthVector = new int[n];
+            for (int i = 0; i < n; i++) {
+                simVector[i] = random.nextInt(8) / 8.0;
+                groundTruthVector[i] = (random.nextInt(4) == 0) ? 1 : 0;
+            }
+            assertEquals(legacySortedSimIndices(simVector, groundTruthVector), MetricUtils.getSortedSimIndices(simVector, groundTruthVector));
+        }
+    }
+
+    @Test
+    public void testRandomVectorsEqualQuadraticVersion() {
+        Random random = new Random(3);
+        for (int run = 0; run < 200; run++) {
+            int n = 2 + random.nextInt(300);
+            int numDistinctValues = 1 + random.nextInt(20);
+            double[] simVector = new double[n];
+            int[] groundTruthVector = new int[n];
+            for (int i = 0; i < n; i++) {
+                // Few distinct values create many ties, and some runs use continuous values without ties
+                simVector[i] = (run % 4 == 0) ? random.nextDouble() : random.nextInt(numDistinctValues) / (double) numDistinctValues;
+                groundTruthVector[i] = (random.nextInt(5) == 0) ? 1 : 0;
+            }
+            assertEquals(legacyAUROC(groundTruthVector, simVector), new AUROC().run(groundTruthVector, simVector), 0.0);
+            assertEquals(legacyAUCPR(groundTruthVector, simVector), new AUCPR().run(groundTruthVector, simVector), 0.0);
+        }
+    }
+
+    @Test
+    public void testScenariosEqualQuadraticVersion() throws Exception {
+        List<Path> scenarios;
+        try (Stream<Path> paths = Files.list(Path.of("data" + s + "schema_matching"))) {
+            scenarios = paths.filter(Files::isDirectory).sorted().collect(Collectors.toList());
+        }
+        for (Path scenario : scenarios) {
+            for (Path[] pair : ScenarioRunner.findPairs(scenario)) {
+                Relation sourceRelation = new Relation(pair[0].toString(), true, ',', StandardCharsets.UTF_8);
+                Relation targetRelation = new Relation(pair[1].toString(), true, ',', StandardCharsets.UTF_8);
+                Relation groundRelation = new Relation(pair[2].toString(), false, ',', StandardCharsets.UTF_8);
+
+                AUROC auroc = new AUROC();
+                int[] groundTruthVector = auroc.flattenMatrix(new CorrespondenceMatrix(groundRelation, sourceRelation, targetRelation).getMatrix());
+                double[] simVector = auroc.flattenMatrix(new FirstLineSchemaMatcher().match(sourceRelation, targetRelation).getMatrix());
+
+                assertEquals(legacyAUROC(groundTruthVector, simVector), auroc.run(groundTruthVector, simVector), 0.0);
+                assertEquals(legacyAUCPR(groundTruthVector, simVector), new AUCPR().run(groundTruthVector, simVector), 0.0);
+            }
+        }
+    }
+
+    // The previous, quadratic implementations of MetricUtils.getSortedSimIndices(), AUROC.run(), and AUCPR.run()
+
+    private static IntList legacySortedSimIndices(double[] simVector, int[] groundTruthVector) {
+        IntList res = new IntArrayList();
+        IntList gtIndices = MetricUtils.getGroundTruthIndices(groundTruthVector);
+
+        for (int i = 0; i < simVector.length; i++) {
+            if (!gtIndices.contains(i)) {
+                res.add(i);
+            }
+        }
+
+        res.sort((a,b) -> Double.compare(simVector[b], simVector[a]));
+
+        for (int id : gtIndices) {
+            double currSimScore = simVector[id];
+            int currResSize = res.size();
+            boolean inserted = false;
+            for (int i = 0; i < currResSize; i++) {
+                if (simVector[res.getInt(i)] < currSimScore) {
+                    res.add(i, id);
+                    inserted = true;
+                    break;
+                }
+            }
+            if (!inserted) {
+                res.add(id);
+            }
+        }
+
+        return res;
+    }
+
+    private static double legacyAUROC(int[] groundTruthVector, double[] simVector) {
+        IntList sortedSimIndices = legacySortedSimIndices(simVector, groundTruthVector);
+        IntList groundTruthIndices = MetricUtils.getGroundTruthIndices(groundTruthVector);
+
+        int n = groundTruthVector.length;
+        int numPositives = groundTruthIndices.size();
+        int numNegatives = n - numPositives;
+
+        int numTP = 0;
+        int numFP = 0;
+
+        int numThresholds = 1 + (int) Arrays.stream(simVector).distinct().count();
+
+        double[] tpr = new double[numThresholds];
+        double[] fpr = new double[numThresholds];
+        tpr[0] = 0;
+        fpr[0] = 0;
+
+        double currThreshold = simVector[sortedSimIndices.getInt(0)];
+        int currThresholdIdx = 1;
+        for (int i = 0; i < n; i++) {
+            double currSimValue = simVector[sortedSimIndices.getInt(i)];
+            if (currSimValue != currThreshold) {
+                tpr[currThresholdIdx] = (double) numTP / numPositives;
+                fpr[currThresholdIdx] = (double) numFP / numNegatives;
+                currThresholdIdx += 1;
+                currThreshold = currSimValue;
+            }
+            if (groundTruthIndices.contains(sortedSimIndices.getInt(i))) {
+                numTP += 1;
+            } else {
+                numFP += 1;
+            }
+        }
+        tpr[currThresholdIdx] = (double) numTP / numPositives;
+        fpr[currThresholdIdx] = (double) numFP / numNegatives;
+
+        return (float) new AUROC().calcAreaUnderCurve(fpr, tpr);
+    }
+
+    private static double legacyAUCPR(int[] groundTruthVector, double[] simVector) {
+        IntList sortedSimIndices = legacySortedSimIndices(simVector, groundTruthVector);
+        IntList groundTruthIndices = MetricUtils.getGroundTruthIndices(groundTruthVector);
+
+        int n = groundTruthVector.length;
+        int numPositives = groundTruthIndices.size();
+
+        int numTP = 0;
+        int numFP = 0;
+        int numFN = numPositives;
+
+        int numThresholds = 1 + (int) Arrays.stream(simVector).distinct().count();
+
+        double[] precision = new double[numThresholds];
+        double[] recall = new double[numThresholds];
+        precision[0] = 1;
+        recall[0] = 0;
+
+        double currThreshold = simVector[sortedSimIndices.getInt(0)];
+        int currThresholdIdx = 1;
+        for (int i = 0; i < n; i++) {
+            double currSimValue = simVector[sortedSimIndices.getInt(i)];
+            if (currSimValue != currThreshold) {
+                precision[currThresholdIdx] = numTP > 0 ? (double) numTP / (numTP + numFP) : 0;
+                recall[currThresholdIdx] = numTP > 0 ? (double) numTP / (numTP + numFN) : 0;
+                currThresholdIdx += 1;
+                currThreshold = currSimValue;
+            }
+            if (groundTruthIndices.contains(sortedSimIndices.getInt(i))) {
+                numTP += 1;
+                numFN -= 1;
+            } else {
+                numFP += 1;
+            }
+        }
+        precision[currThresholdIdx] = numTP > 0 ? (double) numTP / (numTP + numFP) : 0;
+        recall[currThresholdIdx] = numTP > 0 ? (double) numTP / (numTP + numFN) : 0;
+
+        return new AUCPR().calcAreaUnderCurve(recall, precision);
+    }
+}
@@ -0,0 +1,46 @@
+package de.di.schema_matching.structures;
+
+import de.di.Relation;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SparseSimilarityMatrixTest {
+
+    private final Relation source = new Relation("S", new String[]{"A0", "A1", "A2"}, new String[0][]);
+    private final Relation target = new Relation("T", new String[]{"B0", "B1", "B2", "B3"}, new String[0][]);
+
+    @Test
+    public void testTopKPerRow() {
+        double[][] matrix = new double[][]{
+                {0.1, 0.9, 0.5, 0.5},
+                {0.0, 0.0, 0.0, 0.0},
+                {0.3, 0.05, 0.7, 0.2}};
+        SparseSimilarityMatrix sparse = SparseSimilarityMatrix.of(new SimilarityMatrix(matrix, this.source, this.target), 2, 0.1);
+
+        assertEquals(3, sparse.getNumRows());
+        assertEquals(4, sparse.getNumColumns());
+        assertArrayEquals(new int[]{0, 2, 2, 4}, sparse.getRowOffsets());
+        // Ties are broken by the lower column, and the columns of each row are ascending
+        assertArrayEquals(new int[]{1, 2, 0, 2}, sparse.getColumnIndices());
+        assertEquals(0.9, sparse.get(0, 1), 1e-6);
+        assertEquals(0.0, sparse.get(0, 3), 0.0);
+        assertEquals(0.0, sparse.get(1, 0), 0.0);
+        assertEquals(0.7, sparse.get(2, 2), 1e-6);
+        assertEquals(0.0, sparse.get(2, 3), 0.0);
+        assertEquals(4, sparse.numStoredCells());
+    }
+
+    @Test
+    public void testDenseRoundTrip() {
+        double[][] matrix = new double[][]{
+                {0.25, 0.0, 0.5, 1.0},
+                {0.0, 0.75, 0.0, 0.0},
+                {0.125, 0.0, 0.0, 0.375}};
+        SimilarityMatrix dense = new SimilarityMatrix(matrix, this.source, this.target);
+        SparseSimilarityMatrix sparse = SparseSimilarityMatrix.of(dense, Integer.MAX_VALUE, 0);
+
+        assertEquals(6, sparse.numStoredCells());
+        assertEquals(dense, sparse.toSimilarityMatrix());
+    }
+}
@@ -3,6 +3,7 @@ package de.di.similarity_measures.helper;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 public class MinHashTest {
 
@@ -23,4 +24,14 @@ public class MinHashTest {
         result = minHash.hash(new String[]{"abc", "bca", "bac", "xyz", "bca"});
         assertEquals("bca", result);
     }
+
+    @Test
+    public void testFingerprintMinHashing() {
+        MinHash minHash = new MinHash(3);
+
+        assertEquals(Long.MAX_VALUE, minHash.hash(new long[0]));
+        assertEquals(minHash.hash(new long[]{7, 3, 11}), minHash.hash(new long[]{11, 7, 3, 7}));
+        assertEquals(Math.min(minHash.hash(new long[]{7}), minHash.hash(new long[]{3, 11})), minHash.hash(new long[]{3, 7, 11}));
+        assertNotEquals(new MinHash(4).hash(new long[]{7, 3, 11}), minHash.hash(new long[]{7, 3, 11}));
+    }
 }